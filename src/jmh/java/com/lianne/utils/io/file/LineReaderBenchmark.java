@@ -0,0 +1,79 @@
+package com.lianne.utils.io.file;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link FastLineReader} with {@link BufferedReader#readLine()} on a UTF-8 file.
+ * <p>
+ * The {@code ascii} input is pure ASCII and takes the bulk path for every line; the {@code mixed} input has a
+ * non-ASCII character in every fourth line, which goes through the charset decoder.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LineReaderBenchmark {
+
+    private static final int LINES = 500_000;
+
+    @Param({"ascii", "mixed"})
+    private String content;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void createFile() throws IOException {
+        file = Files.createTempFile("line-reader-benchmark", ".txt");
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write("2024-01-01T00:00:00Z INFO request ");
+                writer.write(Integer.toString(random.nextInt(1_000_000)));
+                writer.write(content.equals("mixed") && i % 4 == 0 ? " user=Jürgen" : " user=John");
+                writer.write(" took ");
+                writer.write(Integer.toString(random.nextInt(5_000)));
+                writer.write("ms\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void bufferedReader(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file.toFile()), StandardCharsets.UTF_8),
+                FileReader.DEFAULT_STREAM_BUFFER_SIZE
+        )) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                blackhole.consume(line);
+            }
+        }
+    }
+
+    @Benchmark
+    public void fastLineReader(Blackhole blackhole) throws IOException {
+        try (FastLineReader reader = new FastLineReader(
+                file.toString(), StandardCharsets.UTF_8, FileReader.DEFAULT_STREAM_BUFFER_SIZE
+        )) {
+            while (reader.hasNext()) {
+                blackhole.consume(reader.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.lianne.utils.map;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ConcurrentMapCounter} with the {@code compute}-based counting of {@link MapCounter} when several
+ * threads count into one shared map.
+ * <p>
+ * The {@code HashMap} of {@link MapCounter} is not thread-safe, so the baselines are {@link MapCounter} behind a lock
+ * and the same {@code compute} call on a {@link ConcurrentHashMap}. Keys follow a skewed distribution over
+ * {@code keyCount} distinct strings, so a few hot keys see most of the increments. Run with {@code -t 1} and with
+ * {@code -t} set to the number of cores to see the effect of contention.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentCounterBenchmark {
+
+    private static final int KEYS_PER_THREAD = 1 << 16;
+
+    @Param({"100", "100000"})
+    private int keyCount;
+
+    private HashMap<String, Integer> lockedMap;
+    private Map<String, Integer> computeMap;
+    private ConcurrentMapCounter<String> counter;
+
+    @Setup(Level.Iteration)
+    public void createCounters() {
+        lockedMap = new HashMap<>();
+        computeMap = new ConcurrentHashMap<>();
+        counter = new ConcurrentMapCounter<>();
+    }
+
+    /**
+     * Pre-generated key sequence of one thread, so key generation is not measured.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+
+        private String[] keys;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void generate(ConcurrentCounterBenchmark benchmark) {
+            Random random = new Random(Thread.currentThread().threadId());
+            keys = new String[KEYS_PER_THREAD];
+            for (int i = 0; i < keys.length; i++) {
+                // Squaring a uniform value skews the keys towards the low ids
+                double uniform = random.nextDouble();
+                keys[i] = "key-" + (int) (uniform * uniform * benchmark.keyCount);
+            }
+        }
+
+        String next() {
+            return keys[next++ & (KEYS_PER_THREAD - 1)];
+        }
+    }
+
+    @Benchmark
+    public void lockedMapCounter(Keys keys) {
+        String key = keys.next();
+        synchronized (lockedMap) {
+            MapCounter.counterStringKey(key, lockedMap);
+        }
+    }
+
+    @Benchmark
+    public void concurrentHashMapCompute(Keys keys) {
+        computeMap.compute(keys.next(), (k, frequency) -> frequency == null ? 1 : frequency + 1);
+    }
+
+    @Benchmark
+    public void concurrentMapCounter(Keys keys) {
+        counter.increment(keys.next());
+    }
+}
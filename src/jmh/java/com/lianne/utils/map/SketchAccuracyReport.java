@@ -0,0 +1,97 @@
+package com.lianne.utils.map;
+
+import java.util.*;
+
+/**
+ * Measures the estimation error of {@link CountMinSketch} and {@link SpaceSavingCounter} against exact counts from
+ * {@link MapCounter} on Zipf-distributed streams, and checks the documented bounds.
+ * <p>
+ * For the Count-Min Sketch the report prints the mean and maximum overcount of every distinct key, relative to the
+ * stream length, and the share of keys within the {@code epsilon} bound (expected to be at least
+ * {@code 1 - delta}); an undercount is reported as a violation. For Space-Saving it prints the recall of the true
+ * top 100 and checks that every tracked count lies within {@code [count - error, count]}.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * mvn -Pjmh compile exec:exec -Djmh.main=com.lianne.utils.map.SketchAccuracyReport
+ * </pre>
+ */
+public class SketchAccuracyReport {
+
+    private static final int STREAM_LENGTH = 1_000_000;
+    private static final double EPSILON = 0.001;
+    private static final double DELTA = 0.001;
+    private static final int CAPACITY = 1000;
+    private static final int TOP = 100;
+
+    public static void main(String[] args) {
+        for (int keyCount : new int[]{10_000, 1_000_000}) {
+            for (double exponent : new double[]{0.8, 1.1}) {
+                report(keyCount, exponent);
+            }
+        }
+    }
+
+    private static void report(int keyCount, double exponent) {
+        int[] ids = ZipfKeys.generate(STREAM_LENGTH, keyCount, exponent, 42);
+
+        HashMap<String, Integer> exact = new HashMap<>();
+        CountMinSketch sketch = new CountMinSketch(EPSILON, DELTA);
+        SpaceSavingCounter<String> spaceSaving = new SpaceSavingCounter<>(CAPACITY);
+        for (int id : ids) {
+            String key = "/page/" + id;
+            MapCounter.counterStringKey(key, exact);
+            sketch.add(key);
+            spaceSaving.add(key);
+        }
+
+        long bound = (long) (EPSILON * STREAM_LENGTH);
+        long undercounts = 0;
+        long withinBound = 0;
+        long maxOvercount = 0;
+        double overcountSum = 0;
+        for (Map.Entry<String, Integer> entry : exact.entrySet()) {
+            long overcount = sketch.estimate(entry.getKey()) - entry.getValue();
+            if (overcount < 0) {
+                undercounts++;
+            }
+            if (overcount <= bound) {
+                withinBound++;
+            }
+            maxOvercount = Math.max(maxOvercount, overcount);
+            overcountSum += overcount;
+        }
+
+        Set<String> trueTop = new HashSet<>();
+        exact.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(TOP)
+                .forEach(entry -> trueTop.add(entry.getKey()));
+        long found = 0;
+        long boundViolations = 0;
+        for (SpaceSavingCounter.HeavyHitter<String> hitter : spaceSaving.top(CAPACITY)) {
+            long count = exact.getOrDefault(hitter.key(), 0);
+            if (count > hitter.count() || count < hitter.count() - hitter.error()) {
+                boundViolations++;
+            }
+        }
+        for (SpaceSavingCounter.HeavyHitter<String> hitter : spaceSaving.top(TOP)) {
+            if (trueTop.contains(hitter.key())) {
+                found++;
+            }
+        }
+
+        System.out.printf(
+                "keys=%d zipf=%.1f distinct=%d%n"
+                        + "  CountMinSketch(%s, %s) %dx%d: mean overcount %.5f%%, max %.4f%%, within bound %.3f%%,"
+                        + " undercounts %d%n"
+                        + "  SpaceSaving(%d): top-%d recall %d%%, bound violations %d%n",
+                keyCount, exponent, exact.size(),
+                EPSILON, DELTA, sketch.getDepth(), sketch.getWidth(),
+                100.0 * overcountSum / exact.size() / STREAM_LENGTH, 100.0 * maxOvercount / STREAM_LENGTH,
+                100.0 * withinBound / exact.size(), undercounts,
+                CAPACITY, TOP, 100 * found / TOP, boundViolations
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package com.lianne.utils.map;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of {@link CountMinSketch} and {@link SpaceSavingCounter} with exact counting through
+ * {@link MapCounter} on a Zipf-distributed stream of string keys.
+ * <p>
+ * Every invocation counts the whole stream into a fresh counter, so the exact map grows with the number of distinct
+ * keys while the sketches stay at their fixed size. {@link SketchAccuracyReport} measures the estimation error on
+ * the same kind of stream.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SketchBenchmark {
+
+    private static final int STREAM_LENGTH = 1_000_000;
+
+    @Param({"10000", "1000000"})
+    private int keyCount;
+
+    private String[] stream;
+
+    @Setup(Level.Trial)
+    public void generateStream() {
+        int[] ids = ZipfKeys.generate(STREAM_LENGTH, keyCount, 1.1, 42);
+        stream = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            stream[i] = "/page/" + ids[i];
+        }
+    }
+
+    @Benchmark
+    public void exactMapCounter(Blackhole blackhole) {
+        HashMap<String, Integer> counts = new HashMap<>();
+        for (String key : stream) {
+            MapCounter.counterStringKey(key, counts);
+        }
+        blackhole.consume(counts);
+    }
+
+    @Benchmark
+    public void countMinSketch(Blackhole blackhole) {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+        for (String key : stream) {
+            sketch.add(key);
+        }
+        blackhole.consume(sketch);
+    }
+
+    @Benchmark
+    public void spaceSavingCounter(Blackhole blackhole) {
+        SpaceSavingCounter<String> counter = new SpaceSavingCounter<>(1000);
+        for (String key : stream) {
+            counter.add(key);
+        }
+        blackhole.consume(counter);
+    }
+}
@@ -0,0 +1,34 @@
+package com.lianne.utils.map;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates key ids following a Zipf distribution, the usual model of URL or user id frequencies.
+ */
+final class ZipfKeys {
+
+    private ZipfKeys() {
+    }
+
+    /**
+     * Returns {@code length} key ids in {@code [0, keyCount)}, where id {@code k} has a probability proportional to
+     * {@code 1 / (k + 1)^exponent}.
+     */
+    static int[] generate(int length, int keyCount, double exponent, long seed) {
+        double[] cumulative = new double[keyCount];
+        double sum = 0;
+        for (int k = 0; k < keyCount; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+
+        Random random = new Random(seed);
+        int[] keys = new int[length];
+        for (int i = 0; i < length; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            keys[i] = Math.min(index < 0 ? -index - 1 : index, keyCount - 1);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,121 @@
+package com.lianne.utils.value.string;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares exception-free parsing with the previous {@code trim().isEmpty()} check plus {@code parseXxx} in
+ * {@code try/catch} on columns with a growing share of invalid values.
+ * <p>
+ * Every invocation parses a column of {@value #COLUMN_SIZE} values, {@code invalidPercent} of which are dirty
+ * (empty, {@code "N/A"}, or digits with a unit suffix). The {@code exceptions} benchmarks reproduce the former
+ * implementation of {@link StringToNumberUtils}; {@code safeParse} goes through the current one and {@code parser}
+ * calls {@link NumberParser} with a reused {@link ParsedNumber}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumberParsingBenchmark {
+
+    private static final int COLUMN_SIZE = 10_000;
+    private static final String[] DIRTY_VALUES = {"", "N/A", "12kg", "-", "1,5", "null"};
+
+    @Param({"0", "10", "50"})
+    private int invalidPercent;
+
+    private String[] ints;
+    private String[] doubles;
+
+    @Setup(Level.Trial)
+    public void generateColumns() {
+        Random random = new Random(42);
+        ints = new String[COLUMN_SIZE];
+        doubles = new String[COLUMN_SIZE];
+        for (int i = 0; i < COLUMN_SIZE; i++) {
+            boolean invalid = random.nextInt(100) < invalidPercent;
+            String dirty = DIRTY_VALUES[random.nextInt(DIRTY_VALUES.length)];
+            ints[i] = invalid ? dirty : Integer.toString(random.nextInt(2_000_000) - 1_000_000);
+            doubles[i] = invalid ? dirty : Double.toString(Math.round(random.nextDouble() * 1e6) / 100.0);
+        }
+    }
+
+    @Benchmark
+    public long intExceptions() {
+        long sum = 0;
+        for (String value : ints) {
+            if (value.trim().isEmpty()) {
+                sum--;
+                continue;
+            }
+            try {
+                sum += Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                sum--;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intSafeParse() {
+        long sum = 0;
+        for (String value : ints) {
+            Integer parsed = StringToNumberUtils.safeParseInt(value);
+            sum += parsed == null ? -1 : parsed;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intParser() {
+        ParsedNumber number = new ParsedNumber();
+        long sum = 0;
+        for (String value : ints) {
+            sum += NumberParser.parseInt(value, number) ? number.intValue() : -1;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double doubleExceptions() {
+        double sum = 0;
+        for (String value : doubles) {
+            if (value.trim().isEmpty()) {
+                sum--;
+                continue;
+            }
+            try {
+                sum += Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                sum--;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double doubleSafeParse() {
+        double sum = 0;
+        for (String value : doubles) {
+            Double parsed = StringToNumberUtils.safeParseDouble(value);
+            sum += parsed == null ? -1 : parsed;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double doubleParser() {
+        ParsedNumber number = new ParsedNumber();
+        double sum = 0;
+        for (String value : doubles) {
+            sum += NumberParser.parseDouble(value, number) ? number.doubleValue() : -1;
+        }
+        return sum;
+    }
+}
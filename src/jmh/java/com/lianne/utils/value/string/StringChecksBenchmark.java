@@ -0,0 +1,106 @@
+package com.lianne.utils.value.string;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the word-at-a-time classifiers of {@link StringChecksUtils} with plain byte loops.
+ * <p>
+ * Every input is classified completely: the digits are all digits, the ASCII text contains no byte above 0x7F, the
+ * blank input is all whitespace and none of the {@code containsAny} bytes occur, so no benchmark can exit early.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringChecksBenchmark {
+
+    private static final byte[] SEPARATORS = {',', '"', '\n'};
+
+    @Param({"16", "1024", "65536"})
+    private int length;
+
+    private byte[] digits;
+    private byte[] ascii;
+    private byte[] blank;
+
+    @Setup(Level.Trial)
+    public void generateInputs() {
+        digits = new byte[length];
+        ascii = new byte[length];
+        blank = new byte[length];
+        byte[] text = "The quick brown fox jumps over the lazy dog; ".getBytes();
+        for (int i = 0; i < length; i++) {
+            digits[i] = (byte) ('0' + i % 10);
+            ascii[i] = text[i % text.length];
+        }
+        Arrays.fill(blank, (byte) ' ');
+    }
+
+    @Benchmark
+    public boolean isAllDigitsSwar() {
+        return StringChecksUtils.isAllDigits(digits);
+    }
+
+    @Benchmark
+    public boolean isAllDigitsLoop() {
+        for (byte b : digits) {
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return digits.length > 0;
+    }
+
+    @Benchmark
+    public boolean isAsciiOnlySwar() {
+        return StringChecksUtils.isAsciiOnly(ascii);
+    }
+
+    @Benchmark
+    public boolean isAsciiOnlyLoop() {
+        for (byte b : ascii) {
+            if (b < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean isBlankSwar() {
+        return StringChecksUtils.isBlank(blank);
+    }
+
+    @Benchmark
+    public boolean isBlankLoop() {
+        for (byte b : blank) {
+            if (!Character.isWhitespace(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean containsAnySwar() {
+        return StringChecksUtils.containsAny(ascii, SEPARATORS);
+    }
+
+    @Benchmark
+    public boolean containsAnyLoop() {
+        for (byte b : ascii) {
+            for (byte separator : SEPARATORS) {
+                if (b == separator) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,336 @@
+package com.lianne.utils.io.directory;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Directory reader that serves repeated listings from an in-memory snapshot.
+ * <p>
+ * {@link DirectoryReader#getFileObjectList(String, String)} hits the file system on every call. This class lists a
+ * directory once, registers it with a {@link WatchService} and keeps the snapshot up to date from the watch events
+ * on a background daemon thread: a created or modified entry re-reads the attributes of that single entry, a deleted
+ * entry is removed, and only an event overflow triggers a full re-listing of the directory.
+ * </p>
+ * <p>
+ * The snapshot is eventually consistent: a change becomes visible once the operating system has delivered its event.
+ * Some platforms implement {@link WatchService} by polling, which can delay events by several seconds.
+ * Only the direct entries of a directory are cached, the same as {@link DirectoryReader}. Paths leading to the same
+ * directory through links share one snapshot, and the listed entries are resolved against the path that was asked for.
+ * Links in a path are resolved when it is first listed; a link retargeted later keeps serving the snapshot of its
+ * old target until that snapshot is {@link #invalidate(String) invalidated} or its directory goes away.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * try (CachedDirectoryReader reader = new CachedDirectoryReader()) {
+ *     File[] files = reader.getFileObjectList("/path/to/directory", "file"); // lists the directory
+ *     File[] again = reader.getFileObjectList("/path/to/directory", "file"); // served from memory
+ * }
+ * </pre>
+ */
+public class CachedDirectoryReader implements Closeable {
+
+    private final WatchService watchService;
+    private final Map<Path, DirectorySnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Path, DirectorySnapshot> snapshotsByRequestedPath = new ConcurrentHashMap<>();
+    private final Map<WatchKey, DirectorySnapshot> snapshotsByKey = new ConcurrentHashMap<>();
+    private final Thread watcherThread;
+
+    /**
+     * Creates a reader with an empty cache and starts the watcher thread.
+     *
+     * @throws IOException if the watch service cannot be created
+     */
+    public CachedDirectoryReader() throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.watcherThread = new Thread(this::processEvents, "cached-directory-reader-watcher");
+        this.watcherThread.setDaemon(true);
+        this.watcherThread.start();
+    }
+
+    /**
+     * Retrieves the files and directories inside the given directory from the cache.
+     *
+     * @param directoryName The path of the directory to read.
+     * @return An array of {@link File} objects, or {@code null} if the directory does not exist or is not accessible.
+     */
+    public File @Nullable [] getFileObjectList(String directoryName) {
+        return getFileObjectList(directoryName, "");
+    }
+
+    /**
+     * Retrieves the files and directories of a specified type inside the given directory from the cache.
+     * <p>
+     * The first call for a directory lists it and starts watching it; later calls are served from memory.
+     * </p>
+     *
+     * @param directoryName The path of the directory to read.
+     * @param fileType      "directory", "file" or any other value for both,
+     *                      as in {@link DirectoryReader#getFileObjectList(String, String)}.
+     * @return An array of {@link File} objects, or {@code null} if the directory does not exist or is not accessible.
+     */
+    public File @Nullable [] getFileObjectList(String directoryName, @NotNull String fileType) {
+        Path requested = Path.of(directoryName).toAbsolutePath().normalize();
+        DirectorySnapshot snapshot = getSnapshot(requested);
+        if (snapshot == null) {
+            return null;
+        }
+
+        String type = fileType.toLowerCase();
+        return snapshot.entries.values().stream()
+                .filter(entry -> switch (type) {
+                    case "directory" -> entry.directory();
+                    case "file" -> entry.regularFile();
+                    default -> true;
+                })
+                .map(entry -> requested.resolve(entry.path().getFileName()).toFile())
+                .toArray(File[]::new);
+    }
+
+    /**
+     * Drops the cached snapshot of a directory and stops watching it. The next listing reads the directory again.
+     *
+     * @param directoryName The path of the directory to forget.
+     */
+    public void invalidate(String directoryName) {
+        Path requested = Path.of(directoryName).toAbsolutePath().normalize();
+        DirectorySnapshot snapshot = snapshotsByRequestedPath.get(requested);
+        if (snapshot == null) {
+            snapshot = snapshots.get(realPathOf(requested));
+        }
+        if (snapshot != null) {
+            discard(snapshot);
+        }
+    }
+
+    /**
+     * Stops the watcher thread and drops all snapshots.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        watcherThread.interrupt();
+        snapshots.clear();
+        snapshotsByRequestedPath.clear();
+        snapshotsByKey.clear();
+    }
+
+    /**
+     * Looks the snapshot up by the requested path, so a cache hit does not touch the file system.
+     * <p>
+     * On a miss the real path is resolved: snapshots are owned by the real path of the directory, because the watch
+     * service returns the same key for every path leading to one directory, and a snapshot per path would leave all
+     * but the last one without events. The requested path is then recorded as an alias of that snapshot.
+     * </p>
+     */
+    private @Nullable DirectorySnapshot getSnapshot(@NotNull Path requested) {
+        DirectorySnapshot snapshot = snapshotsByRequestedPath.get(requested);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        Path directory = realPathOf(requested);
+        snapshot = snapshots.get(directory);
+        if (snapshot == null) {
+            if (!Files.isDirectory(directory)) {
+                return null;
+            }
+            try {
+                snapshot = createSnapshot(directory);
+            } catch (IOException e) {
+                // Not accessible, the same as File.listFiles returning null
+                return null;
+            }
+        }
+        DirectorySnapshot alias = snapshotsByRequestedPath.putIfAbsent(requested, snapshot);
+        return alias != null ? alias : snapshot;
+    }
+
+    /**
+     * Registers the directory before listing it, so changes made during the listing are not missed.
+     * <p>
+     * The listing runs outside the snapshot maps. The new snapshot is claimed in {@code snapshotsByKey} while its
+     * lock is held, so events that arrive during the listing wait for it (see {@link #reload(DirectorySnapshot)}),
+     * and a concurrent call for the same directory, which gets the same key, waits for it and reuses it.
+     * It is published in {@code snapshots} only once it is loaded.
+     * </p>
+     */
+    private @NotNull DirectorySnapshot createSnapshot(@NotNull Path directory) throws IOException {
+        while (true) {
+            WatchKey key = directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+            DirectorySnapshot candidate = new DirectorySnapshot(directory, key);
+            DirectorySnapshot existing;
+            synchronized (candidate) {
+                existing = snapshotsByKey.putIfAbsent(key, candidate);
+                if (existing == null) {
+                    try {
+                        reload(candidate);
+                    } catch (IOException e) {
+                        // Not published, so stop watching the directory again
+                        snapshotsByKey.remove(key, candidate);
+                        key.cancel();
+                        throw e;
+                    }
+                    DirectorySnapshot published = snapshots.putIfAbsent(directory, candidate);
+                    return published != null ? published : candidate;
+                }
+            }
+
+            // Lost the race for this key: wait until the winner has loaded, then reuse its snapshot
+            synchronized (existing) {
+                if (snapshotsByKey.get(key) == existing) {
+                    snapshots.putIfAbsent(existing.directory, existing);
+                    return existing;
+                }
+            }
+            // The winner failed to load or was discarded in the meantime, try again
+        }
+    }
+
+    /**
+     * Lists the directory and replaces the entries in one step.
+     * <p>
+     * Reloads and event updates of a snapshot hold its lock, so an event is applied either before a listing starts
+     * or after its result is published, and an entry deleted during a listing cannot be brought back by it.
+     * </p>
+     */
+    private void reload(@NotNull DirectorySnapshot snapshot) throws IOException {
+        synchronized (snapshot) {
+            Map<Path, CachedEntry> entries = new ConcurrentHashMap<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(snapshot.directory)) {
+                for (Path path : stream) {
+                    CachedEntry entry = readEntry(path);
+                    if (entry != null) {
+                        entries.put(path, entry);
+                    }
+                }
+            } catch (DirectoryIteratorException e) {
+                throw e.getCause();
+            }
+            snapshot.entries = entries;
+        }
+    }
+
+    /**
+     * Stops watching the directory and drops its snapshot.
+     */
+    private void discard(@NotNull DirectorySnapshot snapshot) {
+        snapshot.key.cancel();
+        forget(snapshot);
+    }
+
+    /**
+     * Removes the snapshot and every path alias of it from the maps.
+     */
+    private void forget(@NotNull DirectorySnapshot snapshot) {
+        snapshotsByKey.remove(snapshot.key, snapshot);
+        snapshots.remove(snapshot.directory, snapshot);
+        snapshotsByRequestedPath.values().removeIf(alias -> alias == snapshot);
+    }
+
+    /**
+     * Resolves links in the path, or returns the normalized absolute path if it does not exist.
+     */
+    private static @NotNull Path realPathOf(@NotNull Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    /**
+     * Reads the attributes of a single entry, or returns {@code null} if it no longer exists.
+     */
+    private static @Nullable CachedEntry readEntry(@NotNull Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new CachedEntry(path, attributes.isDirectory(), attributes.isRegularFile());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void processEvents() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            DirectorySnapshot snapshot = snapshotsByKey.get(key);
+            if (snapshot != null) {
+                applyEvents(snapshot, key);
+            }
+            if (!key.reset()) {
+                // The directory was deleted or is no longer accessible
+                if (snapshot != null) {
+                    forget(snapshot);
+                }
+            }
+        }
+    }
+
+    private void applyEvents(@NotNull DirectorySnapshot snapshot, @NotNull WatchKey key) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                try {
+                    reload(snapshot);
+                } catch (IOException e) {
+                    discard(snapshot);
+                    return;
+                }
+                continue;
+            }
+
+            Path path = snapshot.directory.resolve((Path) event.context());
+            synchronized (snapshot) {
+                CachedEntry entry = event.kind() == ENTRY_DELETE ? null : readEntry(path);
+                if (entry == null) {
+                    snapshot.entries.remove(path);
+                } else {
+                    snapshot.entries.put(path, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cached attributes of one directory entry.
+     */
+    private record CachedEntry(Path path, boolean directory, boolean regularFile) {
+    }
+
+    /**
+     * Cached entries of one watched directory.
+     */
+    private static class DirectorySnapshot {
+
+        private final Path directory;
+        private final WatchKey key;
+
+        /**
+         * Replaced by a reload and updated by events, both while holding the snapshot's lock; read without it.
+         */
+        private volatile Map<Path, CachedEntry> entries = new ConcurrentHashMap<>();
+
+        DirectorySnapshot(Path directory, WatchKey key) {
+            this.directory = directory;
+            this.key = key;
+        }
+    }
+}
@@ -4,7 +4,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 /**
  * Utility class for reading the contents of a directory.
@@ -16,6 +19,10 @@ import java.util.Objects;
  *     File[] directories = DirectoryReader.getFileObjectList("/path/to/directory", "directory");
  *     File[] files = DirectoryReader.getFileObjectList("/path/to/directory", "file");
  * </pre>
+ * <p>
+ * For recursive, filtered or parallel walks over large trees, see {@link DirectoryWalker}.
+ * To serve repeated listings of the same directories from memory, see {@link CachedDirectoryReader}.
+ * </p>
  */
 public class DirectoryReader {
 
@@ -62,4 +69,36 @@ public class DirectoryReader {
         };
     }
 
+    /**
+     * Lazily streams the files and directories of a given type below the given directory, down to {@code maxDepth}
+     * levels.
+     * <p>
+     * Unlike {@link #getFileObjectList(String, String)}, no array of the whole listing is built: paths are produced
+     * one directory at a time as the stream is consumed. The stream must be closed after use.
+     * </p>
+     *
+     * <h4>Usage Example:</h4>
+     * <pre>
+     * try (Stream&lt;Path&gt; files = DirectoryReader.getPathStream("/path/to/directory", 5, "file")) {
+     *     files.forEach(System.out::println);
+     * }
+     * </pre>
+     *
+     * @param directoryName The path of the directory to read.
+     * @param maxDepth      The maximum number of directory levels to descend; 1 lists only the direct children.
+     * @param fileType      "directory", "file" or any other value for both, as in {@link #getFileObjectList(String, String)}.
+     * @return A lazy {@link Stream} of matching paths.
+     *
+     * @throws IOException If the directory cannot be read.
+     */
+    public static @NotNull Stream<Path> getPathStream(
+            String directoryName, int maxDepth, @NotNull String fileType
+    ) throws IOException {
+        return DirectoryWalker.builder()
+                .maxDepth(maxDepth)
+                .fileType(fileType)
+                .build()
+                .walk(directoryName);
+    }
+
 }
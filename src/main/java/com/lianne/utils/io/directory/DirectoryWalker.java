@@ -0,0 +1,460 @@
+package com.lianne.utils.io.directory;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Recursive directory walker built on NIO with depth limits and name and attribute filters.
+ * <p>
+ * {@link DirectoryReader#getFileObjectList(String, String)} lists a single directory level into a {@code File[]}.
+ * This class walks a whole tree and offers two modes:
+ * </p>
+ * <ul>
+ *     <li>{@link #walk(Path)} - a lazy, sequential {@link Stream} of paths in depth-first order.
+ *     Entries are read one directory at a time, so the stream can be short-circuited on huge trees.</li>
+ *     <li>{@link #walkParallel(Path)} - a {@link ForkJoinPool} walk where every subdirectory is listed by its own task,
+ *     for trees with millions of entries.</li>
+ * </ul>
+ * <p>
+ * All filters are evaluated from the single {@link BasicFileAttributes} read done for each entry, so no extra
+ * {@code stat} calls are made. The {@code fileType} filter accepts the same values as
+ * {@link DirectoryReader#getFileObjectList(String, String)}. The {@code glob} and {@code regex} filters are matched
+ * against the file name. Size filters only apply to regular files. The root directory itself is never returned.
+ * </p>
+ * <p>
+ * Both modes return the same entries. When links are followed, every directory is walked at most once: a directory
+ * reached again through a link (a cycle, or a second link to the same directory) is returned as an entry but not
+ * descended into. A link whose target does not exist is returned with the attributes of the link itself.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * DirectoryWalker walker = DirectoryWalker.builder()
+ *         .maxDepth(3)
+ *         .fileType("file")
+ *         .glob("*.log")
+ *         .minSize(1024 * 1024)
+ *         .modifiedAfter(Instant.now().minus(Duration.ofDays(1)))
+ *         .build();
+ *
+ * try (Stream&lt;Path&gt; paths = walker.walk("/var/log")) {
+ *     paths.forEach(System.out::println);
+ * }
+ * List&lt;Path&gt; all = walker.walkParallel(Path.of("/data"));
+ * </pre>
+ */
+@Getter
+@Builder
+public class DirectoryWalker {
+
+    /**
+     * Maximum number of directory levels to descend; 1 lists only the direct children of the root.
+     */
+    @Builder.Default
+    private final int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * "directory" for directories only, "file" for regular files only, any other value for both.
+     */
+    @Builder.Default
+    private final @NotNull String fileType = "";
+
+    /**
+     * Optional glob pattern (see {@link FileSystem#getPathMatcher(String)}) matched against the file name.
+     */
+    private final @Nullable String glob;
+
+    /**
+     * Optional regular expression matched against the whole file name.
+     */
+    private final @Nullable String regex;
+
+    /**
+     * Minimum size of regular files in bytes.
+     */
+    @Builder.Default
+    private final long minSize = 0;
+
+    /**
+     * Maximum size of regular files in bytes.
+     */
+    @Builder.Default
+    private final long maxSize = Long.MAX_VALUE;
+
+    /**
+     * Optional lower bound (exclusive) for the last modification time.
+     */
+    private final @Nullable Instant modifiedAfter;
+
+    /**
+     * Optional upper bound (exclusive) for the last modification time.
+     */
+    private final @Nullable Instant modifiedBefore;
+
+    /**
+     * Whether symbolic links are followed. Directories already walked, including cycles, are not walked again.
+     */
+    @Builder.Default
+    private final boolean followLinks = false;
+
+    /**
+     * Lazily walks the tree below the given directory.
+     *
+     * @param directoryName the path of the root directory
+     * @return a stream of matching paths, which must be closed after use
+     * @throws IOException if the root directory cannot be read
+     */
+    public @NotNull Stream<Path> walk(@NotNull String directoryName) throws IOException {
+        return walk(Path.of(directoryName));
+    }
+
+    /**
+     * Lazily walks the tree below the given directory.
+     * <p>
+     * Errors while reading subdirectories are thrown as {@link UncheckedIOException} from the stream operations.
+     * Closing the stream closes the directories that are still open.
+     * </p>
+     *
+     * @param root the root directory
+     * @return a stream of matching paths, which must be closed after use
+     * @throws IOException if the root directory cannot be read
+     */
+    public @NotNull Stream<Path> walk(@NotNull Path root) throws IOException {
+        TreeIterator iterator = new TreeIterator(root);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false
+        ).onClose(iterator::close);
+    }
+
+    /**
+     * Walks the tree below the given directory and passes every matching entry together with its attributes
+     * to the visitor, so callers that need sizes or times do not read the attributes a second time.
+     * <p>
+     * Unlike {@link #walk(Path)}, entries that cannot be read below the root, such as directories without read
+     * permission, are skipped and counted instead of ending the walk. Directories already walked are matched but not
+     * descended into, as in the other modes.
+     * </p>
+     *
+     * @param root    the root directory
+     * @param visitor the callback receiving matching paths and their attributes
+     * @return the number of entries that were skipped because they could not be read
+     * @throws IOException if the root directory cannot be read
+     */
+    long forEachMatch(
+            @NotNull Path root, @NotNull BiConsumer<Path, BasicFileAttributes> visitor
+    ) throws IOException {
+        BiPredicate<Path, BasicFileAttributes> matcher = createMatcher(root);
+        Set<Object> visited = new HashSet<>();
+        markRootVisited(root, visited);
+        long[] skipped = {0};
+        Files.walkFileTree(root, visitOptions(), maxDepth, new SimpleFileVisitor<>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                visitFile(directory, attributes);
+                if (!directory.equals(root) && !firstVisit(attributes, visited)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                if (!file.equals(root) && matcher.test(file, attributes)) {
+                    visitor.accept(file, attributes);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                if (file.equals(root)) {
+                    throw e;
+                }
+                if (e instanceof FileSystemLoopException) {
+                    // A link back to an ancestor, which has already been walked
+                    try {
+                        return visitFile(file, readAttributes(file));
+                    } catch (IOException attributesError) {
+                        // Gone since the loop was detected, skip it like any unreadable entry
+                    }
+                }
+                skipped[0]++;
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException e) throws IOException {
+                if (e != null) {
+                    // Listing failed part way through, keep what was read
+                    if (directory.equals(root)) {
+                        throw e;
+                    }
+                    skipped[0]++;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return skipped[0];
+    }
+
+    /**
+     * Walks the tree below the given directory on the common {@link ForkJoinPool}.
+     *
+     * @param root the root directory
+     * @return the matching paths, not sorted; the order is stable for an unchanged tree unless links are followed
+     * @throws IOException if a directory cannot be read
+     */
+    public @NotNull List<Path> walkParallel(@NotNull Path root) throws IOException {
+        return walkParallel(root, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Walks the tree below the given directory on the given pool, listing every subdirectory in its own task.
+     *
+     * @param root the root directory
+     * @param pool the pool executing the directory tasks
+     * @return the matching paths, not sorted; the order is stable for an unchanged tree unless links are followed,
+     * since the task that first reaches a directory linked from several places is the one that walks it
+     * @throws IOException if a directory cannot be read
+     */
+    public @NotNull List<Path> walkParallel(@NotNull Path root, @NotNull ForkJoinPool pool) throws IOException {
+        if (maxDepth < 1) {
+            return new ArrayList<>();
+        }
+        Set<Object> visited = ConcurrentHashMap.newKeySet();
+        markRootVisited(root, visited);
+
+        try {
+            return pool.invoke(new DirectoryTask(root, 1, createMatcher(root), visited));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private @NotNull Set<FileVisitOption> visitOptions() {
+        return followLinks ? EnumSet.of(FileVisitOption.FOLLOW_LINKS) : EnumSet.noneOf(FileVisitOption.class);
+    }
+
+    /**
+     * Reads the attributes of an entry, following links if configured. A link whose target does not exist is
+     * described by the attributes of the link itself, as {@link Files#walkFileTree} does.
+     */
+    private @NotNull BasicFileAttributes readAttributes(@NotNull Path entry) throws IOException {
+        if (followLinks) {
+            try {
+                return Files.readAttributes(entry, BasicFileAttributes.class);
+            } catch (IOException e) {
+                // Broken link, fall back to the link itself
+            }
+        }
+        return Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    private void markRootVisited(@NotNull Path root, @NotNull Set<Object> visited) throws IOException {
+        if (followLinks) {
+            Object rootKey = Files.readAttributes(root, BasicFileAttributes.class).fileKey();
+            if (rootKey != null) {
+                visited.add(rootKey);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code false} if a followed link leads to a directory that has already been walked.
+     */
+    private boolean firstVisit(@NotNull BasicFileAttributes attributes, @NotNull Set<Object> visited) {
+        if (!followLinks) {
+            return true;
+        }
+        Object fileKey = attributes.fileKey();
+        return fileKey == null || visited.add(fileKey);
+    }
+
+    /**
+     * Builds the filter from the configured options, compiling the glob and regular expression once per walk.
+     */
+    private @NotNull BiPredicate<Path, BasicFileAttributes> createMatcher(@NotNull Path root) {
+        PathMatcher globMatcher = glob == null ? null : root.getFileSystem().getPathMatcher("glob:" + glob);
+        Pattern pattern = regex == null ? null : Pattern.compile(regex);
+        String type = fileType.toLowerCase();
+
+        return (path, attributes) -> {
+            switch (type) {
+                case "directory" -> {
+                    if (!attributes.isDirectory()) {
+                        return false;
+                    }
+                }
+                case "file" -> {
+                    if (!attributes.isRegularFile()) {
+                        return false;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            if (attributes.isRegularFile() && (attributes.size() < minSize || attributes.size() > maxSize)) {
+                return false;
+            }
+            if (modifiedAfter != null || modifiedBefore != null) {
+                Instant modified = attributes.lastModifiedTime().toInstant();
+                if (modifiedAfter != null && !modified.isAfter(modifiedAfter)) {
+                    return false;
+                }
+                if (modifiedBefore != null && !modified.isBefore(modifiedBefore)) {
+                    return false;
+                }
+            }
+
+            Path fileName = path.getFileName();
+            if (globMatcher != null && (fileName == null || !globMatcher.matches(fileName))) {
+                return false;
+            }
+            return pattern == null || (fileName != null && pattern.matcher(fileName.toString()).matches());
+        };
+    }
+
+    /**
+     * Depth-first iterator over the matching entries, keeping one open directory stream per level.
+     */
+    private class TreeIterator implements Iterator<Path> {
+
+        private final Deque<Level> levels = new ArrayDeque<>();
+        private final BiPredicate<Path, BasicFileAttributes> matcher;
+        private final Set<Object> visited = new HashSet<>();
+        private @Nullable Path next;
+
+        TreeIterator(@NotNull Path root) throws IOException {
+            this.matcher = createMatcher(root);
+            markRootVisited(root, visited);
+            if (maxDepth >= 1) {
+                levels.push(new Level(Files.newDirectoryStream(root), 1));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && !levels.isEmpty()) {
+                    Level level = levels.peek();
+                    if (!level.entries.hasNext()) {
+                        levels.pop().stream.close();
+                        continue;
+                    }
+                    Path entry = level.entries.next();
+                    BasicFileAttributes attributes = readAttributes(entry);
+                    if (attributes.isDirectory() && level.depth < maxDepth && firstVisit(attributes, visited)) {
+                        levels.push(new Level(Files.newDirectoryStream(entry), level.depth + 1));
+                    }
+                    if (matcher.test(entry, attributes)) {
+                        next = entry;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (DirectoryIteratorException e) {
+                throw new UncheckedIOException(e.getCause());
+            }
+            return next != null;
+        }
+
+        @Override
+        public Path next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Path result = next;
+            next = null;
+            return result;
+        }
+
+        void close() {
+            while (!levels.isEmpty()) {
+                try {
+                    levels.pop().stream.close();
+                } catch (IOException e) {
+                    // Nothing left to read from it
+                }
+            }
+        }
+
+        private record Level(DirectoryStream<Path> stream, Iterator<Path> entries, int depth) {
+
+            Level(DirectoryStream<Path> stream, int depth) {
+                this(stream, stream.iterator(), depth);
+            }
+        }
+    }
+
+    /**
+     * Fork/join task listing one directory and forking a task for each subdirectory.
+     * Tasks are never serialized, although {@link RecursiveTask} is {@link java.io.Serializable}.
+     */
+    @SuppressWarnings("serial")
+    private class DirectoryTask extends RecursiveTask<List<Path>> {
+
+        private final Path directory;
+        private final int depth;
+        private final BiPredicate<Path, BasicFileAttributes> matcher;
+        private final Set<Object> visited;
+
+        DirectoryTask(
+                Path directory,
+                int depth,
+                BiPredicate<Path, BasicFileAttributes> matcher,
+                Set<Object> visited
+        ) {
+            this.directory = directory;
+            this.depth = depth;
+            this.matcher = matcher;
+            this.visited = visited;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> matches = new ArrayList<>();
+            List<DirectoryTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes = readAttributes(entry);
+                    if (matcher.test(entry, attributes)) {
+                        matches.add(entry);
+                    }
+                    if (attributes.isDirectory() && depth < maxDepth && firstVisit(attributes, visited)) {
+                        subtasks.add(new DirectoryTask(entry, depth + 1, matcher, visited));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (DirectoryIteratorException e) {
+                throw new UncheckedIOException(e.getCause());
+            }
+
+            ForkJoinTask.invokeAll(subtasks);
+            for (DirectoryTask subtask : subtasks) {
+                matches.addAll(subtask.join());
+            }
+            return matches;
+        }
+    }
+}
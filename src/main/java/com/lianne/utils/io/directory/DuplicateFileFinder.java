@@ -0,0 +1,237 @@
+package com.lianne.utils.io.directory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds files with identical content in a directory tree.
+ * <p>
+ * The search runs as a pipeline that avoids reading file content wherever possible:
+ * </p>
+ * <ol>
+ *     <li>The tree is walked with a {@link DirectoryWalker}, reading the attributes of each file once.
+ *     Paths leading to the same physical file, such as hard links or links followed by the walker, are collapsed
+ *     into one file and reported as {@link DuplicateScanResult#aliasGroups() aliases}, never as duplicates.</li>
+ *     <li>The files are grouped by size.</li>
+ *     <li>Files with a unique size cannot have a duplicate and are dropped without being opened.</li>
+ *     <li>The remaining candidates are hashed on a fixed-size thread pool, reading the content through memory-mapped
+ *     windows, and grouped by size and digest.</li>
+ * </ol>
+ * <p>
+ * Files that cannot be read while hashing are left out of the result and counted in
+ * {@link DuplicateScanStats#failedFiles()}. Subdirectories that cannot be read during the walk are skipped and counted
+ * in {@link DuplicateScanStats#skippedPaths()}, so one unreadable directory does not abort the scan.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * DuplicateScanResult result = new DuplicateFileFinder().findDuplicates(Path.of("/data/photos"));
+ * result.duplicateGroups().forEach(System.out::println);
+ * System.out.printf("%.1f files/s, %.1f MB/s%n",
+ *         result.stats().filesPerSecond(), result.stats().megabytesPerSecond());
+ * </pre>
+ */
+public class DuplicateFileFinder {
+
+    /**
+     * Default digest algorithm.
+     */
+    public static final String DEFAULT_ALGORITHM = "SHA-256";
+
+    /**
+     * Size of a single mapping window used while hashing (64MB).
+     */
+    private static final int HASH_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final String algorithm;
+    private final int parallelism;
+
+    /**
+     * Creates a finder using SHA-256 and one hashing thread per available processor.
+     */
+    public DuplicateFileFinder() {
+        this(DEFAULT_ALGORITHM, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a finder with the given digest algorithm and number of hashing threads.
+     *
+     * @param algorithm   the {@link MessageDigest} algorithm name, e.g. "SHA-256" or "MD5"
+     * @param parallelism the number of threads hashing files at the same time
+     * @throws IllegalArgumentException if the algorithm is unknown or {@code parallelism} is not positive
+     */
+    public DuplicateFileFinder(@NotNull String algorithm, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        try {
+            MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unknown digest algorithm: " + algorithm, e);
+        }
+        this.algorithm = algorithm;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Finds duplicate non-empty regular files in the whole tree below the given directory.
+     *
+     * @param root the root directory
+     * @return the duplicate groups and the throughput statistics
+     * @throws IOException if the root directory cannot be read
+     */
+    public @NotNull DuplicateScanResult findDuplicates(@NotNull Path root) throws IOException {
+        return findDuplicates(root, DirectoryWalker.builder().minSize(1).build());
+    }
+
+    /**
+     * Finds duplicate regular files among the files selected by the given walker.
+     * <p>
+     * Directories selected by the walker are ignored, so the walker's depth and name filters can be reused as is.
+     * </p>
+     *
+     * @param root   the root directory
+     * @param walker the walker selecting the files to compare
+     * @return the duplicate groups and the throughput statistics
+     * @throws IOException if the root directory cannot be read
+     */
+    public @NotNull DuplicateScanResult findDuplicates(
+            @NotNull Path root, @NotNull DirectoryWalker walker
+    ) throws IOException {
+        long startTime = System.nanoTime();
+
+        Map<Object, List<Path>> pathsByFile = new LinkedHashMap<>();
+        Map<Object, Long> sizesByFile = new HashMap<>();
+        long skippedPaths = walker.forEachMatch(root, (path, attributes) -> {
+            if (attributes.isRegularFile()) {
+                Object fileKey = fileKeyOf(path, attributes);
+                pathsByFile.computeIfAbsent(fileKey, key -> new ArrayList<>(1)).add(path);
+                sizesByFile.putIfAbsent(fileKey, attributes.size());
+            }
+        });
+
+        Map<Long, List<Path>> filesBySize = new HashMap<>();
+        List<List<Path>> aliasGroups = new ArrayList<>();
+        for (Map.Entry<Object, List<Path>> file : pathsByFile.entrySet()) {
+            List<Path> aliases = file.getValue();
+            aliases.sort(Comparator.naturalOrder());
+            if (aliases.size() > 1) {
+                aliasGroups.add(aliases);
+            }
+            filesBySize.computeIfAbsent(sizesByFile.get(file.getKey()), size -> new ArrayList<>(2))
+                    .add(aliases.get(0));
+        }
+        aliasGroups.sort(Comparator.comparing(group -> group.get(0)));
+
+        List<Path> candidates = new ArrayList<>();
+        for (List<Path> sameSize : filesBySize.values()) {
+            if (sameSize.size() > 1) {
+                candidates.addAll(sameSize);
+            }
+        }
+
+        LongAdder bytesHashed = new LongAdder();
+        LongAdder failedFiles = new LongAdder();
+        Map<String, List<Path>> filesByDigest = hashCandidates(candidates, bytesHashed, failedFiles);
+
+        List<List<Path>> duplicateGroups = new ArrayList<>();
+        for (List<Path> sameContent : filesByDigest.values()) {
+            if (sameContent.size() > 1) {
+                sameContent.sort(Comparator.naturalOrder());
+                duplicateGroups.add(sameContent);
+            }
+        }
+        duplicateGroups.sort(Comparator.comparing(group -> group.get(0)));
+
+        DuplicateScanStats stats = new DuplicateScanStats(
+                pathsByFile.size(),
+                skippedPaths,
+                candidates.size(),
+                failedFiles.sum(),
+                bytesHashed.sum(),
+                System.nanoTime() - startTime
+        );
+        return new DuplicateScanResult(duplicateGroups, aliasGroups, stats);
+    }
+
+    /**
+     * Returns a key identifying the physical file, so that hard links and links followed by the walker are not
+     * reported as copies of each other. Falls back to the real path where the file system has no file keys.
+     */
+    private static @NotNull Object fileKeyOf(@NotNull Path path, @NotNull BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        if (fileKey != null) {
+            return fileKey;
+        }
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    /**
+     * Hashes the candidates on a bounded pool and groups them by size and digest.
+     */
+    private @NotNull Map<String, List<Path>> hashCandidates(
+            @NotNull List<Path> candidates, @NotNull LongAdder bytesHashed, @NotNull LongAdder failedFiles
+    ) throws IOException {
+        Map<String, List<Path>> filesByDigest = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return filesByDigest;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, candidates.size()));
+        try {
+            List<Future<String>> digests = new ArrayList<>(candidates.size());
+            for (Path candidate : candidates) {
+                digests.add(executor.submit(() -> hashFile(candidate, bytesHashed, failedFiles)));
+            }
+            for (int i = 0; i < candidates.size(); i++) {
+                String digest = digests.get(i).get();
+                if (digest != null) {
+                    filesByDigest.computeIfAbsent(digest, key -> new ArrayList<>(2)).add(candidates.get(i));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while hashing files", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to hash files", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return filesByDigest;
+    }
+
+    /**
+     * Returns the size and hex digest of the file as a grouping key, or {@code null} if the file cannot be read.
+     */
+    private String hashFile(@NotNull Path file, @NotNull LongAdder bytesHashed, @NotNull LongAdder failedFiles) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance(algorithm);
+            long size = channel.size();
+            for (long position = 0; position < size; position += HASH_WINDOW_SIZE) {
+                long windowSize = Math.min(HASH_WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                digest.update(window);
+            }
+            bytesHashed.add(size);
+            return size + ":" + HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            failedFiles.increment();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.lianne.utils.io.directory;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Result of a {@link DuplicateFileFinder} run.
+ *
+ * @param duplicateGroups groups of distinct files with identical content, each holding at least two sorted paths;
+ *                        a file reachable through several paths is listed once, by the first of its aliases
+ * @param aliasGroups     groups of paths leading to the same physical file, such as hard links or followed links,
+ *                        each holding at least two sorted paths; deleting one of them may delete the only copy
+ * @param stats           throughput statistics of the run
+ */
+public record DuplicateScanResult(
+        List<List<Path>> duplicateGroups, List<List<Path>> aliasGroups, DuplicateScanStats stats
+) {
+}
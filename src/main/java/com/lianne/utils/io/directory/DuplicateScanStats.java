@@ -0,0 +1,35 @@
+package com.lianne.utils.io.directory;
+
+/**
+ * Throughput statistics of a {@link DuplicateFileFinder} run, for tuning the parallelism and the walk filters.
+ *
+ * @param filesScanned   the number of distinct regular files found by the walk; aliases of one file count once
+ * @param skippedPaths   the number of entries skipped by the walk because they could not be read, such as
+ *                       directories without read permission
+ * @param candidateFiles the number of files sharing their size with another file, which had to be hashed
+ * @param failedFiles    the number of candidate files that could not be read and were left out of the result
+ * @param bytesHashed    the total number of bytes read for hashing
+ * @param elapsedNanos   the wall-clock duration of the whole run in nanoseconds
+ */
+public record DuplicateScanStats(
+        long filesScanned, long skippedPaths, long candidateFiles, long failedFiles, long bytesHashed, long elapsedNanos
+) {
+
+    /**
+     * Returns the number of hashed files per second.
+     *
+     * @return the hashing rate in files per second
+     */
+    public double filesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (candidateFiles - failedFiles) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Returns the hashing throughput in megabytes (2^20 bytes) per second.
+     *
+     * @return the hashing rate in MB/s
+     */
+    public double megabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytesHashed / (1024.0 * 1024.0) * 1e9 / elapsedNanos;
+    }
+}
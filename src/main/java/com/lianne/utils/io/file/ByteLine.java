@@ -0,0 +1,177 @@
+package com.lianne.utils.io.file;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable, zero-copy view of a single line inside a {@link ByteBuffer}.
+ * <p>
+ * Instances are handed to a {@link LineConsumer} by {@link MappedFileReader} and point straight into the
+ * memory-mapped file region, so no bytes are copied and no {@code String} is created unless the caller asks for one.
+ * The same instance is reused for every line of a scan; it is only valid inside the callback that receives it.
+ * Use {@link #toString()} or {@link #toString(Charset)} to keep a copy of the line.
+ * </p>
+ * <p>
+ * As a {@link CharSequence}, every byte is exposed as one {@code char} (ISO-8859-1 view). This is exact for
+ * ASCII content and lets callers run {@code CharSequence}-based code (regular expressions, comparisons) without decoding.
+ * For multi-byte encodings use {@link #slice()} or {@link #toString(Charset)}.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * MappedFileReader.forEachLine("huge.log", line -> {
+ *     if (line.startsWith("ERROR")) {
+ *         System.out.println(line.getOffset() + ": " + line.toString(StandardCharsets.UTF_8));
+ *     }
+ * });
+ * </pre>
+ */
+public class ByteLine implements CharSequence {
+
+    private ByteBuffer buffer;
+    private int start;
+    private int length;
+    private long offset;
+
+    /**
+     * Creates an empty line view. The view is positioned by {@link #set(ByteBuffer, int, int, long)}.
+     */
+    ByteLine() {
+    }
+
+    /**
+     * Points this view at a region of the given buffer.
+     *
+     * @param buffer the buffer holding the line bytes
+     * @param start  the index of the first byte of the line inside the buffer
+     * @param length the number of bytes in the line, excluding the line terminator
+     * @param offset the position of the first byte of the line in the file
+     */
+    void set(ByteBuffer buffer, int start, int length, long offset) {
+        this.buffer = buffer;
+        this.start = start;
+        this.length = length;
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the position of the first byte of this line in the file.
+     *
+     * @return the byte offset of the line in the file
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the byte at the given index of the line.
+     *
+     * @param index the index inside the line
+     * @return the byte at the given index
+     * @throws IndexOutOfBoundsException if the index is outside the line
+     */
+    public byte byteAt(int index) {
+        checkIndex(index);
+        return buffer.get(start + index);
+    }
+
+    /**
+     * Returns a read-only {@link ByteBuffer} that shares the line bytes with the mapped file.
+     * <p>
+     * The returned buffer stays valid after the callback returns, as long as the file mapping is reachable.
+     * </p>
+     *
+     * @return a read-only slice containing the line bytes
+     */
+    public @NotNull ByteBuffer slice() {
+        return buffer.slice(start, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Checks whether the line starts with the given ASCII prefix, without decoding the line.
+     *
+     * @param prefix the prefix to look for
+     * @return {@code true} if the line starts with the prefix
+     */
+    public boolean startsWith(@NotNull CharSequence prefix) {
+        int prefixLength = prefix.length();
+        if (prefixLength > length) {
+            return false;
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            if ((buffer.get(start + i) & 0xFF) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first index of the given byte in the line, or -1 if the line does not contain it.
+     *
+     * @param value the byte to look for
+     * @return the index of the byte, or -1
+     */
+    public int indexOf(byte value) {
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(start + i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the line with the given charset.
+     *
+     * @param charset the charset used to decode the line bytes
+     * @return the decoded line
+     */
+    public @NotNull String toString(@NotNull Charset charset) {
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, charset);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (byteAt(index) & 0xFF);
+    }
+
+    /**
+     * Returns a new independent view over a part of this line. The returned view does not copy bytes.
+     */
+    @Override
+    @Contract("_, _ -> new")
+    public @NotNull ByteLine subSequence(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+        }
+        ByteLine line = new ByteLine();
+        line.set(buffer, start + from, to - from, offset + from);
+        return line;
+    }
+
+    /**
+     * Returns a copy of the line decoded as ISO-8859-1, matching the {@link CharSequence} view.
+     */
+    @Override
+    public @NotNull String toString() {
+        return toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+    }
+}
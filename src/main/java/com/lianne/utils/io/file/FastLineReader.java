@@ -0,0 +1,272 @@
+package com.lianne.utils.io.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Line iterator specialized for UTF-8, US-ASCII and ISO-8859-1 input.
+ * <p>
+ * The generic path ({@link InputStreamReader} or {@link LineIterator}) decodes bytes into a {@code char[]} with a
+ * {@link java.nio.charset.CharsetDecoder}, copies the chars into a {@link StringBuilder} and copies them again into the
+ * resulting {@code String}. For these charsets a line terminator byte can never be part of a multi-byte sequence,
+ * so this reader searches for terminators directly in the raw bytes and builds each line with a single
+ * {@code new String(bytes, offset, length, charset)} call.
+ * </p>
+ * <p>
+ * Both the terminator search and the ASCII check process eight bytes per step, reading the buffer as {@code long}
+ * words and using SWAR (SIMD within a register) bit tricks. Lines made only of ASCII bytes are built with the
+ * ISO-8859-1 constructor, which is a plain copy into a compact Latin-1 string. Other lines fall back to the charset,
+ * so malformed UTF-8 is replaced the same way {@link InputStreamReader} does.
+ * </p>
+ * <p>
+ * Lines are terminated by {@code '\n'}, {@code '\r'} or {@code "\r\n"}, the same as {@link BufferedReader}.
+ * I/O errors during iteration are thrown as {@link UncheckedIOException}.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * try (FastLineReader lines = new FastLineReader("file.txt", StandardCharsets.UTF_8, 64 * 1024)) {
+ *     while (lines.hasNext()) {
+ *         System.out.println(lines.next());
+ *     }
+ * }
+ * </pre>
+ */
+public class FastLineReader implements Iterator<String>, Closeable {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long LINE_FEEDS = ONES * '\n';
+    private static final long CARRIAGE_RETURNS = ONES * '\r';
+
+    private final InputStream input;
+    private final Charset charset;
+    private final boolean latin1;
+
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean skipLineFeed;
+    private String nextLine;
+    private long lineNumber;
+
+    /**
+     * Opens the file for reading.
+     *
+     * @param fileName   the name of the file to read
+     * @param charset    UTF-8, US-ASCII or ISO-8859-1
+     * @param bufferSize the initial size of the read buffer; the buffer grows for longer lines
+     * @throws FileNotFoundException if the file does not exist
+     * @throws IllegalArgumentException if the charset is not supported or {@code bufferSize} is not positive
+     */
+    public FastLineReader(String fileName, @NotNull Charset charset, int bufferSize) throws FileNotFoundException {
+        this(openChecked(fileName, charset, bufferSize), charset, bufferSize);
+    }
+
+    /**
+     * Wraps an already opened stream. The stream is closed by {@link #close()}.
+     *
+     * @param input      the stream to read
+     * @param charset    UTF-8, US-ASCII or ISO-8859-1
+     * @param bufferSize the initial size of the read buffer; the buffer grows for longer lines
+     * @throws IllegalArgumentException if the charset is not supported or {@code bufferSize} is not positive
+     */
+    public FastLineReader(@NotNull InputStream input, @NotNull Charset charset, int bufferSize) {
+        checkArguments(charset, bufferSize);
+        this.input = input;
+        this.charset = charset;
+        this.latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Checks whether the charset can be read by this class.
+     *
+     * @param charset the charset to check
+     * @return {@code true} for UTF-8, US-ASCII and ISO-8859-1
+     */
+    public static boolean isSupported(@NotNull Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset)
+                || StandardCharsets.US_ASCII.equals(charset)
+                || StandardCharsets.ISO_8859_1.equals(charset);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextLine == null) {
+            try {
+                nextLine = readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String result = nextLine;
+        nextLine = null;
+        lineNumber++;
+        return result;
+    }
+
+    /**
+     * Returns the number of lines returned by {@link #next()} so far, which is the number of the last returned line.
+     *
+     * @return the current line number
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private String readLine() throws IOException {
+        int searchFrom = position;
+        while (true) {
+            if (skipLineFeed && position < limit) {
+                skipLineFeed = false;
+                if (buffer[position] == '\n') {
+                    position++;
+                    searchFrom = position;
+                }
+            }
+
+            int terminator = findTerminator(buffer, searchFrom, limit);
+            if (terminator >= 0) {
+                String line = decode(position, terminator);
+                position = terminator + 1;
+                if (buffer[terminator] == '\r') {
+                    skipLineFeed = true;
+                }
+                return line;
+            }
+
+            if (endOfInput) {
+                if (position < limit) {
+                    String line = decode(position, limit);
+                    position = limit;
+                    return line;
+                }
+                return null;
+            }
+
+            searchFrom = limit - position;
+            fillBuffer();
+            searchFrom += position;
+        }
+    }
+
+    /**
+     * Moves the unread bytes to the start of the buffer, growing it if it is full, and reads more bytes.
+     */
+    private void fillBuffer() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int read = input.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private @NotNull String decode(int start, int end) {
+        if (latin1 || isAscii(buffer, start, end)) {
+            return new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        return new String(buffer, start, end - start, charset);
+    }
+
+    /**
+     * Returns the index of the first {@code '\n'} or {@code '\r'} in {@code [from, to)}, or -1.
+     */
+    static int findTerminator(byte @NotNull [] bytes, int from, int to) {
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            long word = (long) LONG_VIEW.get(bytes, i);
+            long matches = zeroBytes(word ^ LINE_FEEDS) | zeroBytes(word ^ CARRIAGE_RETURNS);
+            if (matches != 0) {
+                // The lowest flagged byte is always exact, higher ones may be false positives
+                return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (bytes[i] == '\n' || bytes[i] == '\r') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether all bytes in {@code [from, to)} are ASCII (have the high bit cleared).
+     */
+    static boolean isAscii(byte @NotNull [] bytes, int from, int to) {
+        int i = from;
+        long accumulated = 0;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            accumulated |= (long) LONG_VIEW.get(bytes, i);
+        }
+        if ((accumulated & HIGH_BITS) != 0) {
+            return false;
+        }
+        for (; i < to; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the high bit of the lowest zero byte of the word (and possibly of higher bytes).
+     */
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    private static void checkArguments(@NotNull Charset charset, int bufferSize) {
+        if (!isSupported(charset)) {
+            throw new IllegalArgumentException("Unsupported charset: " + charset);
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+    }
+
+    /**
+     * Validates the arguments before the file is opened, so an invalid call does not leak a file handle.
+     */
+    private static @NotNull InputStream openChecked(
+            String fileName, @NotNull Charset charset, int bufferSize
+    ) throws FileNotFoundException {
+        checkArguments(charset, bufferSize);
+        return new FileInputStream(fileName);
+    }
+}
@@ -0,0 +1,23 @@
+package com.lianne.utils.io.file;
+
+/**
+ * A byte range {@code [start, end)} of a file.
+ * <p>
+ * Ranges produced by {@link ParallelFileScanner#splitIntoLineRanges(String, int)} always start at the beginning
+ * of a line and end right after a line terminator (or at the end of the file).
+ * </p>
+ *
+ * @param start the first byte of the range
+ * @param end   the end of the range (exclusive)
+ */
+public record FileRange(long start, long end) {
+
+    /**
+     * Returns the number of bytes in the range.
+     *
+     * @return the length of the range in bytes
+     */
+    public long length() {
+        return end - start;
+    }
+}
@@ -6,10 +6,9 @@ import org.jetbrains.annotations.NotNull;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class that provides different methods for reading files with various character encoding options.
@@ -32,9 +31,17 @@ import java.util.Map;
  *         <tr><td>LineNumberReader</td><td>Yes</td><td>Yes</td><td>Yes</td></tr>
  *     </tbody>
  * </table>
+ * <p>
+ * For multi-gigabyte files that should be scanned with constant heap, see {@link MappedFileReader}.
+ * </p>
  */
 public class FileReader {
 
+    /**
+     * Default buffer size used by the streaming methods (64KB).
+     */
+    public static final int DEFAULT_STREAM_BUFFER_SIZE = 64 * 1024;
+
     /**
      * Returns an InputStreamReader for the specified file, converting byte streams to character streams.
      *
@@ -178,6 +185,9 @@ public class FileReader {
      *     System.out.println("Line " + lineNumber + ": " + line);
      * });
      * </pre>
+     * <p>
+     * The whole file is kept in memory. For random access to the lines of large files use {@link LineIndex}.
+     * </p>
      *
      * @param fileName the name of the file to read
      * @return a Map where keys are line numbers and values are the corresponding lines
@@ -186,7 +196,11 @@ public class FileReader {
     public static @NotNull Map<Integer, String> readFileNumberLines(String fileName) throws FileNotFoundException {
         Map<Integer, String> lines = new HashMap<>();
         LineNumberReader reader = getLineNumberReader(fileName);
-        reader.lines().forEach(line -> lines.put(reader.getLineNumber(), line));
+        try (reader) {
+            reader.lines().forEach(line -> lines.put(reader.getLineNumber(), line));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return lines;
     }
 
@@ -206,7 +220,133 @@ public class FileReader {
     public static @NotNull List<String> readFileLines(String fileName) throws FileNotFoundException {
         List<String> lines = new ArrayList<>();
         BufferedReader reader = getBufferedReader(fileName);
-        reader.lines().forEach(lines::add);
+        try (reader) {
+            reader.lines().forEach(lines::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return lines;
     }
+
+    /**
+     * Opens a lazy iterator over the lines of the file, which must be closed after use.
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * try (LineIterator lines = FileReader.openLineIterator("file.txt", StandardCharsets.UTF_8, 256 * 1024, true)) {
+     *     while (lines.hasNext()) {
+     *         System.out.println(lines.next());
+     *     }
+     * }
+     * </pre>
+     *
+     * @param fileName the name of the file to read
+     * @param charset the Charset to use for decoding
+     * @param bufferSize the size of the read buffer in bytes
+     * @param directBuffer whether the read buffer is allocated outside the Java heap
+     * @return a LineIterator over the lines of the file
+     * @throws IOException if the file cannot be opened
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull LineIterator openLineIterator(
+            String fileName, @NotNull Charset charset, int bufferSize, boolean directBuffer
+    ) throws IOException {
+        return new LineIterator(fileName, charset, bufferSize, directBuffer);
+    }
+
+    /**
+     * Returns a lazy stream of the lines of the file, decoded with the default charset.
+     * <p>
+     * Lines are read only as the stream is consumed, so short-circuiting operations such as {@code findFirst}
+     * stop reading the file. The file is closed when the stream is closed, so the stream should be used
+     * in a try-with-resources block.
+     * </p>
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * try (Stream<String> lines = FileReader.streamFileLines("file.txt")) {
+     *     Optional<String> firstError = lines.filter(line -> line.startsWith("ERROR")).findFirst();
+     * }
+     * </pre>
+     *
+     * @param fileName the name of the file to read
+     * @return a Stream of lines from the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static @NotNull Stream<String> streamFileLines(String fileName) throws IOException {
+        return streamFileLines(fileName, Charset.defaultCharset());
+    }
+
+    /**
+     * Returns a lazy stream of the lines of the file, decoded with the given charset.
+     * <p>
+     * UTF-8, US-ASCII and ISO-8859-1 files are read by {@link FastLineReader}, which finds line terminators and
+     * ASCII runs directly in the raw bytes. Other charsets are decoded by {@link LineIterator}.
+     * </p>
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * try (Stream<String> lines = FileReader.streamFileLines("file.txt", StandardCharsets.UTF_8)) {
+     *     long count = lines.filter(String::isBlank).count();
+     * }
+     * </pre>
+     *
+     * @param fileName the name of the file to read
+     * @param charset the Charset to use for decoding
+     * @return a Stream of lines from the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static @NotNull Stream<String> streamFileLines(
+            String fileName, @NotNull Charset charset
+    ) throws IOException {
+        if (FastLineReader.isSupported(charset)) {
+            return toClosingStream(new FastLineReader(fileName, charset, DEFAULT_STREAM_BUFFER_SIZE));
+        }
+        return streamFileLines(fileName, charset, DEFAULT_STREAM_BUFFER_SIZE, false);
+    }
+
+    /**
+     * Returns a lazy stream of the lines of the file with a configurable read buffer.
+     * <p>
+     * A direct buffer lets the operating system copy file data straight into native memory, which pays off
+     * for large buffers and large files.
+     * </p>
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * try (Stream<String> lines = FileReader.streamFileLines("file.txt", StandardCharsets.UTF_8, 1 << 20, true)) {
+     *     lines.forEach(System.out::println);
+     * }
+     * </pre>
+     *
+     * @param fileName the name of the file to read
+     * @param charset the Charset to use for decoding
+     * @param bufferSize the size of the read buffer in bytes
+     * @param directBuffer whether the read buffer is allocated outside the Java heap
+     * @return a Stream of lines from the file that closes the file when the stream is closed
+     * @throws IOException if the file cannot be opened
+     */
+    public static @NotNull Stream<String> streamFileLines(
+            String fileName, @NotNull Charset charset, int bufferSize, boolean directBuffer
+    ) throws IOException {
+        return toClosingStream(openLineIterator(fileName, charset, bufferSize, directBuffer));
+    }
+
+    /**
+     * Wraps a line iterator into a sequential stream that closes the iterator when the stream is closed.
+     */
+    private static <T extends Iterator<String> & Closeable> @NotNull Stream<String> toClosingStream(
+            @NotNull T iterator
+    ) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                false
+        ).onClose(() -> {
+            try {
+                iterator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 }
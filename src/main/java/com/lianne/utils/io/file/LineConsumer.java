@@ -0,0 +1,21 @@
+package com.lianne.utils.io.file;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Callback receiving the lines of a file scanned by {@link MappedFileReader}.
+ * <p>
+ * The {@link ByteLine} passed to the callback is a reusable view into the mapped file and is only valid
+ * until the callback returns.
+ * </p>
+ */
+@FunctionalInterface
+public interface LineConsumer {
+
+    /**
+     * Processes one line of the file.
+     *
+     * @param line a zero-copy view of the line, without its line terminator
+     */
+    void accept(@NotNull ByteLine line);
+}
@@ -0,0 +1,316 @@
+package com.lianne.utils.io.file;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Random access to the lines of a file by line number, backed by an index of line start offsets.
+ * <p>
+ * {@link FileReader#readFileNumberLines(String)} keeps every line in a {@code Map<Integer, String>}, paying for a boxed
+ * key, a map entry and the line text for every line. This class instead scans the file once and stores only
+ * the start offset of every line in a {@code long[]}. Line text is read from disk on demand with a positional read,
+ * so {@link #getLine(int)} is O(1) and heap usage is 8 bytes per line.
+ * </p>
+ * <p>
+ * The index can be persisted to a sidecar file ({@code <fileName>.lidx}) and reused as long as the size and
+ * modification time of the indexed file do not change.
+ * </p>
+ * <p>
+ * Lines are numbered from 1, like {@link LineNumberReader}. Lines are terminated by {@code '\n'} or {@code "\r\n"};
+ * the terminator is not part of the returned line.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * try (LineIndex index = LineIndex.open("huge.log", StandardCharsets.UTF_8, true)) {
+ *     System.out.println(index.getLineCount());
+ *     System.out.println(index.getLine(1_000_000));
+ *     List&lt;String&gt; page = index.getLines(500, 550);
+ * }
+ * </pre>
+ */
+public class LineIndex implements Closeable {
+
+    /**
+     * Extension appended to the file name to build the sidecar index file name.
+     */
+    public static final String SIDECAR_EXTENSION = ".lidx";
+
+    private static final int SIDECAR_MAGIC = 0x4C494458; // "LIDX"
+    private static final int SIDECAR_VERSION = 1;
+
+    /**
+     * Magic, version, file size, modification time and entry count.
+     */
+    private static final int SIDECAR_HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final long fileSize;
+    private final long lastModified;
+
+    /**
+     * Start offsets of all lines followed by the file size, so line {@code n} occupies
+     * {@code [offsets[n - 1], offsets[n])}.
+     */
+    private final long[] offsets;
+
+    private LineIndex(FileChannel channel, Charset charset, long fileSize, long lastModified, long[] offsets) {
+        this.channel = channel;
+        this.charset = charset;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds an index of a UTF-8 file without using a sidecar file.
+     *
+     * @param fileName the name of the file to index
+     * @return the index, which must be closed after use
+     * @throws IOException if the file cannot be read
+     */
+    public static @NotNull LineIndex build(String fileName) throws IOException {
+        return open(fileName, StandardCharsets.UTF_8, false);
+    }
+
+    /**
+     * Opens an index of the given file.
+     * <p>
+     * If {@code useSidecar} is {@code true} and an up-to-date sidecar file exists, the offsets are loaded from it.
+     * Otherwise the file is scanned, and the offsets are written to the sidecar file when {@code useSidecar} is set.
+     * </p>
+     *
+     * @param fileName   the name of the file to index
+     * @param charset    the charset used to decode lines
+     * @param useSidecar whether to load and store the index in {@code <fileName>.lidx}
+     * @return the index, which must be closed after use
+     * @throws IOException if the file cannot be read or the sidecar cannot be written
+     */
+    public static @NotNull LineIndex open(
+            String fileName, @NotNull Charset charset, boolean useSidecar
+    ) throws IOException {
+        Path file = Path.of(fileName);
+        Path sidecar = Path.of(fileName + SIDECAR_EXTENSION);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+            long[] offsets = useSidecar ? readSidecar(sidecar, fileSize, lastModified) : null;
+            if (offsets == null) {
+                offsets = scanOffsets(channel, fileSize);
+                LineIndex index = new LineIndex(channel, charset, fileSize, lastModified, offsets);
+                if (useSidecar) {
+                    index.save(sidecar);
+                }
+                return index;
+            }
+            return new LineIndex(channel, charset, fileSize, lastModified, offsets);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of lines in the file.
+     *
+     * @return the line count
+     */
+    public int getLineCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the position in the file where the given line starts.
+     *
+     * @param lineNumber the line number, starting at 1
+     * @return the byte offset of the line
+     * @throws IndexOutOfBoundsException if the line does not exist
+     */
+    public long getLineOffset(int lineNumber) {
+        checkLineNumber(lineNumber);
+        return offsets[lineNumber - 1];
+    }
+
+    /**
+     * Reads a single line from disk.
+     *
+     * @param lineNumber the line number, starting at 1
+     * @return the line text without its terminator
+     * @throws IOException if the file cannot be read
+     * @throws IndexOutOfBoundsException if the line does not exist
+     */
+    public @NotNull String getLine(int lineNumber) throws IOException {
+        checkLineNumber(lineNumber);
+        ByteBuffer buffer = readBytes(offsets[lineNumber - 1], offsets[lineNumber]);
+        return decodeLine(buffer, 0, buffer.limit());
+    }
+
+    /**
+     * Reads the lines {@code fromLine..toLine} (both inclusive) from disk with a single read.
+     *
+     * @param fromLine the first line number, starting at 1
+     * @param toLine   the last line number, inclusive
+     * @return the lines in order, without terminators
+     * @throws IOException if the file cannot be read
+     * @throws IndexOutOfBoundsException if a line does not exist or {@code fromLine > toLine}
+     */
+    public @NotNull List<String> getLines(int fromLine, int toLine) throws IOException {
+        checkLineNumber(fromLine);
+        checkLineNumber(toLine);
+        if (fromLine > toLine) {
+            throw new IndexOutOfBoundsException("First line " + fromLine + " is after last line " + toLine);
+        }
+
+        long rangeStart = offsets[fromLine - 1];
+        ByteBuffer buffer = readBytes(rangeStart, offsets[toLine]);
+        List<String> lines = new ArrayList<>(toLine - fromLine + 1);
+        for (int lineNumber = fromLine; lineNumber <= toLine; lineNumber++) {
+            int start = (int) (offsets[lineNumber - 1] - rangeStart);
+            int end = (int) (offsets[lineNumber] - rangeStart);
+            lines.add(decodeLine(buffer, start, end));
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the index to the given file, together with the size and modification time of the indexed file.
+     *
+     * @param sidecar the file to write the index to
+     * @throws IOException if the file cannot be written
+     */
+    public void save(@NotNull Path sidecar) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(sidecar)))) {
+            out.writeInt(SIDECAR_MAGIC);
+            out.writeInt(SIDECAR_VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(lastModified);
+            out.writeInt(offsets.length);
+            for (long offset : offsets) {
+                out.writeLong(offset);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Scans the file once and collects the start offset of every line, followed by the file size.
+     */
+    private static long @NotNull [] scanOffsets(@NotNull FileChannel channel, long fileSize) throws IOException {
+        long[] offsets = new long[1024];
+        int count = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+        long position = 0;
+        boolean lineStart = true;
+        while (position < fileSize) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (lineStart) {
+                    if (count == offsets.length - 1) {
+                        offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                    }
+                    offsets[count++] = position + i;
+                }
+                lineStart = buffer.get(i) == '\n';
+            }
+            position += read;
+        }
+        offsets[count++] = fileSize;
+        return Arrays.copyOf(offsets, count);
+    }
+
+    /**
+     * Loads the offsets from a sidecar file, or returns {@code null} if it is missing, corrupt or out of date.
+     * <p>
+     * The offsets must have the shape {@link #scanOffsets} produces: at most one entry per byte of the indexed file
+     * plus one, starting at 0, strictly increasing and ending at the file size. The entry count is checked against the
+     * file size and the sidecar length before the array is allocated.
+     * </p>
+     */
+    private static long @Nullable [] readSidecar(@NotNull Path sidecar, long fileSize, long lastModified) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            long sidecarSize = Files.size(sidecar);
+            if (in.readInt() != SIDECAR_MAGIC
+                    || in.readInt() != SIDECAR_VERSION
+                    || in.readLong() != fileSize
+                    || in.readLong() != lastModified) {
+                return null;
+            }
+            int count = in.readInt();
+            if (count < 1 || count > fileSize + 1 || sidecarSize != SIDECAR_HEADER_SIZE + (long) count * Long.BYTES) {
+                return null;
+            }
+            long[] offsets = new long[count];
+            long previous = -1;
+            for (int i = 0; i < count; i++) {
+                long offset = in.readLong();
+                if (offset <= previous || offset > fileSize || (i == 0 && offset != 0)) {
+                    return null;
+                }
+                offsets[i] = offset;
+                previous = offset;
+            }
+            return offsets[count - 1] == fileSize ? offsets : null;
+        } catch (IOException | RuntimeException e) {
+            // A missing or damaged sidecar is rebuilt from the indexed file
+            return null;
+        }
+    }
+
+    private @NotNull ByteBuffer readBytes(long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+        long position = start;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("File was truncated after it was indexed");
+            }
+            position += read;
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the bytes {@code [start, end)} of a heap buffer as a line, dropping the {@code '\n'} or {@code "\r\n"}
+     * terminator.
+     */
+    private @NotNull String decodeLine(@NotNull ByteBuffer buffer, int start, int end) {
+        byte[] bytes = buffer.array();
+        if (end > start && bytes[end - 1] == '\n') {
+            end--;
+            if (end > start && bytes[end - 1] == '\r') {
+                end--;
+            }
+        }
+        return new String(bytes, start, end - start, charset);
+    }
+
+    private void checkLineNumber(int lineNumber) {
+        if (lineNumber < 1 || lineNumber > getLineCount()) {
+            throw new IndexOutOfBoundsException("Line " + lineNumber + " out of range 1.." + getLineCount());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.lianne.utils.io.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy, closeable iterator over the lines of a file.
+ * <p>
+ * Bytes are read from a {@link FileChannel} into a buffer of configurable size, which can be a direct buffer
+ * so the operating system copies file data straight into native memory, and decoded in bulk with a
+ * {@link CharsetDecoder}. Only the current line is kept in memory, and nothing past it is read,
+ * so the iteration can stop at any point.
+ * </p>
+ * <p>
+ * Lines are terminated by {@code '\n'}, {@code '\r'} or {@code "\r\n"}, the same as {@link java.io.BufferedReader}.
+ * Malformed input is replaced, the same as {@link java.io.InputStreamReader}. I/O errors during iteration are thrown
+ * as {@link UncheckedIOException}.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * try (LineIterator lines = FileReader.openLineIterator("file.txt", StandardCharsets.UTF_8, 64 * 1024, true)) {
+ *     while (lines.hasNext()) {
+ *         String line = lines.next();
+ *         System.out.println(lines.getLineNumber() + ": " + line);
+ *     }
+ * }
+ * </pre>
+ */
+public class LineIterator implements Iterator<String>, Closeable {
+
+    /**
+     * Smallest buffer size that still fits any encoded character and any surrogate pair.
+     */
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final StringBuilder line = new StringBuilder();
+
+    private boolean endOfInput;
+    private boolean flushed;
+    private boolean skipLineFeed;
+    private String nextLine;
+    private long lineNumber;
+
+    /**
+     * Opens the file and prepares the buffers. No data is read until {@link #hasNext()} is called.
+     *
+     * @param fileName     the name of the file to read
+     * @param charset      the charset used to decode the file
+     * @param bufferSize   the size of the byte and char buffers, raised to at least 16
+     * @param directBuffer whether the byte buffer is allocated outside the Java heap
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if {@code bufferSize} is not positive
+     */
+    public LineIterator(
+            String fileName, @NotNull Charset charset, int bufferSize, boolean directBuffer
+    ) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+        }
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        int size = Math.max(bufferSize, MIN_BUFFER_SIZE);
+        this.bytes = directBuffer ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        this.chars = CharBuffer.allocate(size).flip();
+        this.channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextLine == null) {
+            try {
+                nextLine = readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String result = nextLine;
+        nextLine = null;
+        lineNumber++;
+        return result;
+    }
+
+    /**
+     * Returns the number of lines returned by {@link #next()} so far, which is the number of the last returned line.
+     *
+     * @return the current line number
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private String readLine() throws IOException {
+        char[] array = chars.array();
+        while (true) {
+            if (!chars.hasRemaining() && !fill()) {
+                if (line.isEmpty()) {
+                    return null;
+                }
+                String last = line.toString();
+                line.setLength(0);
+                return last;
+            }
+
+            int start = chars.position();
+            int limit = chars.limit();
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (array[start] == '\n') {
+                    start++;
+                }
+            }
+            for (int i = start; i < limit; i++) {
+                char c = array[i];
+                if (c == '\n' || c == '\r') {
+                    line.append(array, start, i - start);
+                    chars.position(i + 1);
+                    skipLineFeed = c == '\r';
+                    String result = line.toString();
+                    line.setLength(0);
+                    return result;
+                }
+            }
+            line.append(array, start, limit - start);
+            chars.position(limit);
+        }
+    }
+
+    /**
+     * Refills the char buffer, reading more bytes from the channel when needed.
+     *
+     * @return {@code false} if the end of the file was reached and all characters were consumed
+     */
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (true) {
+            if (!endOfInput && channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+
+            bytes.flip();
+            CoderResult result = flushed ? CoderResult.UNDERFLOW : decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+            if (endOfInput && result.isUnderflow() && !flushed) {
+                decoder.flush(chars);
+                flushed = true;
+            }
+
+            if (chars.position() > 0 || flushed) {
+                chars.flip();
+                return chars.hasRemaining();
+            }
+        }
+    }
+}
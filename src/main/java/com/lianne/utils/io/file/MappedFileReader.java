@@ -0,0 +1,153 @@
+package com.lianne.utils.io.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for scanning very large files line by line through memory-mapped I/O.
+ * <p>
+ * Unlike {@link FileReader#readFileLines(String)}, which decodes every line into a {@code String} and keeps all of them
+ * in a list, this class maps the file with {@link FileChannel#map} and hands each line to a {@link LineConsumer}
+ * as a zero-copy {@link ByteLine} view. Heap usage stays constant regardless of the file size.
+ * </p>
+ * <p>
+ * A single {@link MappedByteBuffer} cannot exceed 2GB, so files are mapped in windows of at most {@code chunkSize}
+ * bytes. Each new window starts at the beginning of the line that did not fit into the previous one, so a line is never
+ * split between windows. A single line must therefore be shorter than the chunk size.
+ * </p>
+ * <p>
+ * Lines are terminated by {@code '\n'} or {@code "\r\n"}; the terminator is not part of the line.
+ * A trailing line without a terminator is reported as well, the same way {@link java.io.BufferedReader#readLine()} does.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * long errors[] = {0};
+ * MappedFileReader.forEachLine("huge.log", line -> {
+ *     if (line.startsWith("ERROR")) {
+ *         errors[0]++;
+ *     }
+ * });
+ * </pre>
+ */
+public class MappedFileReader {
+
+    /**
+     * Default size of a single mapping window (1GB).
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+    /**
+     * Scans the file line by line using mapping windows of {@link #DEFAULT_CHUNK_SIZE} bytes.
+     *
+     * @param fileName the name of the file to read
+     * @param consumer the callback receiving every line of the file
+     * @return the number of lines in the file
+     * @throws IOException if the file cannot be opened or mapped, or a line is longer than the chunk size
+     */
+    public static long forEachLine(String fileName, @NotNull LineConsumer consumer) throws IOException {
+        return forEachLine(fileName, DEFAULT_CHUNK_SIZE, consumer);
+    }
+
+    /**
+     * Scans the file line by line using mapping windows of the given size.
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * MappedFileReader.forEachLine("huge.log", 64 * 1024 * 1024, line -> process(line.slice()));
+     * </pre>
+     *
+     * @param fileName  the name of the file to read
+     * @param chunkSize the maximum size of a mapping window in bytes
+     * @param consumer  the callback receiving every line of the file
+     * @return the number of lines in the file
+     * @throws IOException if the file cannot be opened or mapped, or a line is longer than the chunk size
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive
+     */
+    public static long forEachLine(String fileName, int chunkSize, @NotNull LineConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            return scanRange(channel, 0, channel.size(), chunkSize, consumer);
+        }
+    }
+
+    /**
+     * Scans the lines inside the byte range {@code [from, to)} of an open channel.
+     * <p>
+     * The range is expected to start at the beginning of a line. If it does not end right after a line terminator,
+     * the bytes after the last terminator are reported as the final line.
+     * </p>
+     *
+     * @param channel   the channel to map
+     * @param from      the first byte of the range
+     * @param to        the end of the range (exclusive)
+     * @param chunkSize the maximum size of a mapping window in bytes
+     * @param consumer  the callback receiving every line of the range
+     * @return the number of lines in the range
+     * @throws IOException if the channel cannot be mapped, or a line is longer than the chunk size
+     */
+    static long scanRange(
+            @NotNull FileChannel channel, long from, long to, int chunkSize, @NotNull LineConsumer consumer
+    ) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        ByteLine line = new ByteLine();
+        long lineCount = 0;
+        long windowStart = from;
+        while (windowStart < to) {
+            int windowSize = (int) Math.min(chunkSize, to - windowStart);
+            boolean lastWindow = windowStart + windowSize == to;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+
+            int lineStart = 0;
+            for (int i = 0; i < windowSize; i++) {
+                if (buffer.get(i) == '\n') {
+                    emitLine(line, buffer, lineStart, i, windowStart, consumer);
+                    lineCount++;
+                    lineStart = i + 1;
+                }
+            }
+
+            if (lastWindow) {
+                if (lineStart < windowSize) {
+                    emitLine(line, buffer, lineStart, windowSize, windowStart, consumer);
+                    lineCount++;
+                }
+                break;
+            }
+            if (lineStart == 0) {
+                throw new IOException(
+                        "Line at offset " + windowStart + " is longer than the chunk size of " + chunkSize + " bytes"
+                );
+            }
+            // Continue from the beginning of the line that did not fit into this window
+            windowStart += lineStart;
+        }
+        return lineCount;
+    }
+
+    /**
+     * Positions the reusable line view at {@code [lineStart, lineEnd)}, dropping a trailing {@code '\r'},
+     * and passes it to the consumer.
+     */
+    private static void emitLine(
+            @NotNull ByteLine line,
+            @NotNull MappedByteBuffer buffer,
+            int lineStart,
+            int lineEnd,
+            long windowStart,
+            @NotNull LineConsumer consumer
+    ) {
+        if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        line.set(buffer, lineStart, lineEnd - lineStart, windowStart + lineStart);
+        consumer.accept(line);
+    }
+}
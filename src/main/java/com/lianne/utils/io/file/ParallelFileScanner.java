@@ -0,0 +1,220 @@
+package com.lianne.utils.io.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
+
+/**
+ * Utility class for processing the lines of a large file on several threads.
+ * <p>
+ * The file is split into byte ranges whose boundaries are moved forward to the next line terminator, so every line
+ * belongs to exactly one range. Each range is scanned by {@link MappedFileReader} on a {@link ForkJoinPool} worker
+ * into its own accumulator, and the accumulators are combined in file order. Results are described by a standard
+ * {@link Collector}, the same way {@code Stream.collect} works.
+ * </p>
+ * <p>
+ * The {@link ByteLine} passed to the collector accumulator is a reusable view; it must not be stored.
+ * Call {@link ByteLine#toString()} or {@link ByteLine#toString(java.nio.charset.Charset)} to keep a line.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * // Count lines starting with "ERROR" using all cores
+ * long errors = ParallelFileScanner.scan("huge.log",
+ *         Collectors.filtering(line -> line.startsWith("ERROR"), Collectors.counting()));
+ *
+ * // Collect matching lines in file order
+ * List&lt;String&gt; lines = ParallelFileScanner.scan("huge.log",
+ *         Collectors.filtering(line -> line.indexOf((byte) '#') &lt; 0,
+ *                 Collectors.mapping(ByteLine::toString, Collectors.toList())));
+ * </pre>
+ */
+public class ParallelFileScanner {
+
+    /**
+     * Number of ranges created per pool thread, to even out ranges that take longer to process.
+     */
+    private static final int RANGES_PER_THREAD = 4;
+
+    /**
+     * Size of the buffer used to look for the line terminator after a split point.
+     */
+    private static final int ALIGN_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Scans the file on the common {@link ForkJoinPool}.
+     *
+     * @param fileName  the name of the file to read
+     * @param collector the collector receiving every line of the file
+     * @return the result of the collector
+     * @throws IOException if the file cannot be read
+     */
+    public static <A, R> R scan(
+            String fileName, @NotNull Collector<? super ByteLine, A, R> collector
+    ) throws IOException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        return scan(fileName, pool, pool.getParallelism() * RANGES_PER_THREAD, collector);
+    }
+
+    /**
+     * Scans the file on the given pool, splitting it into at most {@code rangeCount} newline-aligned ranges.
+     *
+     * @param fileName   the name of the file to read
+     * @param pool       the pool executing the range scans
+     * @param rangeCount the number of ranges to split the file into
+     * @param collector  the collector receiving every line of the file
+     * @return the result of the collector, with partial results combined in file order
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if {@code rangeCount} is not positive
+     */
+    public static <A, R> R scan(
+            String fileName,
+            @NotNull ForkJoinPool pool,
+            int rangeCount,
+            @NotNull Collector<? super ByteLine, A, R> collector
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            List<FileRange> ranges = splitIntoLineRanges(channel, rangeCount);
+            A result = ranges.isEmpty()
+                    ? collector.supplier().get()
+                    : pool.invoke(new RangeScanTask<>(channel, ranges, 0, ranges.size(), collector));
+            return collector.finisher().apply(result);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Splits the file into at most {@code rangeCount} ranges of similar size that start at a line beginning.
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * List&lt;FileRange&gt; ranges = ParallelFileScanner.splitIntoLineRanges("huge.log", 16);
+     * </pre>
+     *
+     * @param fileName   the name of the file to split
+     * @param rangeCount the desired number of ranges
+     * @return the non-empty ranges covering the whole file, in file order
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if {@code rangeCount} is not positive
+     */
+    public static @NotNull List<FileRange> splitIntoLineRanges(String fileName, int rangeCount) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            return splitIntoLineRanges(channel, rangeCount);
+        }
+    }
+
+    private static @NotNull List<FileRange> splitIntoLineRanges(
+            @NotNull FileChannel channel, int rangeCount
+    ) throws IOException {
+        if (rangeCount <= 0) {
+            throw new IllegalArgumentException("Range count must be positive: " + rangeCount);
+        }
+
+        long size = channel.size();
+        long step = Math.max(1, size / rangeCount);
+        List<FileRange> ranges = new ArrayList<>(rangeCount);
+        ByteBuffer buffer = ByteBuffer.allocate(ALIGN_BUFFER_SIZE);
+        long start = 0;
+        for (int i = 1; i < rangeCount && start < size; i++) {
+            long end = nextLineStart(channel, Math.max(start, i * step), size, buffer);
+            if (end > start) {
+                ranges.add(new FileRange(start, end));
+                start = end;
+            }
+        }
+        if (start < size) {
+            ranges.add(new FileRange(start, size));
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns the position right after the first {@code '\n'} at or after {@code position - 1},
+     * or {@code size} if there is no such terminator.
+     */
+    private static long nextLineStart(
+            @NotNull FileChannel channel, long position, long size, @NotNull ByteBuffer buffer
+    ) throws IOException {
+        long readPosition = Math.max(0, position - 1);
+        while (readPosition < size) {
+            buffer.clear();
+            int read = channel.read(buffer, readPosition);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return readPosition + i + 1;
+                }
+            }
+            readPosition += read;
+        }
+        return size;
+    }
+
+    /**
+     * Fork/join task scanning the ranges {@code [from, to)} and combining their accumulators in order.
+     * Tasks are never serialized, although {@link RecursiveTask} is {@link java.io.Serializable}.
+     */
+    @SuppressWarnings("serial")
+    private static class RangeScanTask<A> extends RecursiveTask<A> {
+
+        private final FileChannel channel;
+        private final List<FileRange> ranges;
+        private final int from;
+        private final int to;
+        private final Collector<? super ByteLine, A, ?> collector;
+
+        RangeScanTask(
+                FileChannel channel, List<FileRange> ranges, int from, int to, Collector<? super ByteLine, A, ?> collector
+        ) {
+            this.channel = channel;
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+            this.collector = collector;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from == 1) {
+                return scanSingleRange(ranges.get(from));
+            }
+
+            int middle = (from + to) >>> 1;
+            RangeScanTask<A> left = new RangeScanTask<>(channel, ranges, from, middle, collector);
+            RangeScanTask<A> right = new RangeScanTask<>(channel, ranges, middle, to, collector);
+            left.fork();
+            A rightResult = right.compute();
+            return collector.combiner().apply(left.join(), rightResult);
+        }
+
+        private A scanSingleRange(@NotNull FileRange range) {
+            A container = collector.supplier().get();
+            var accumulator = collector.accumulator();
+            try {
+                MappedFileReader.scanRange(
+                        channel,
+                        range.start(),
+                        range.end(),
+                        MappedFileReader.DEFAULT_CHUNK_SIZE,
+                        line -> accumulator.accept(container, line)
+                );
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return container;
+        }
+    }
+}
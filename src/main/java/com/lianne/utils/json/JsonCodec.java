@@ -0,0 +1,188 @@
+package com.lianne.utils.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.ConstructorDetector;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared Jackson configuration with cached, pre-built readers and writers per target type.
+ * <p>
+ * Creating an {@link ObjectMapper} is expensive, and even with a shared mapper every {@code readValue} call resolves
+ * the target type and creates a new {@link ObjectReader}. A codec owns one configured mapper and keeps an immutable,
+ * thread-safe {@link ObjectReader} and {@link ObjectWriter} per type, built on first use. The JSON utilities of this
+ * package read through these cached readers. Unless a codec is passed to them, they use
+ * {@link #getDefault() the default codec}, whose mapper has the stock {@link ObjectMapper} features, so they decode
+ * exactly as a plain {@code new ObjectMapper()} does.
+ * </p>
+ * <p>
+ * Acceleration is opt-in through {@link #create(boolean) create(true)}. That mapper registers the same modules as
+ * Spring Boot (Java 8 types, java.time, parameter names) and ignores unknown properties, so DTOs only need to declare
+ * the fields they use. Constructors are bound by parameter name, including single-argument ones, so Lombok
+ * {@code @AllArgsConstructor} DTOs can be decoded without a no-args constructor. The Blackbird module is registered
+ * as well, which replaces reflective property access with generated lambdas.
+ * {@link com.lianne.utils.openai.api.OpenAIClient#create(String, String)} and {@link NdjsonReader} with its
+ * {@code codec} option set are examples of callers opting in; {@link #setDefault(JsonCodec)} opts in for all the
+ * utilities of this package.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * JsonCodec codec = JsonCodec.getDefault();
+ * Message message = codec.read(json, Message.class);
+ * String text = codec.write(message);
+ * List&lt;Message&gt; messages = codec.reader(new TypeReference&lt;List&lt;Message&gt;&gt;() {}).readValue(json);
+ * </pre>
+ */
+public class JsonCodec {
+
+    private static volatile JsonCodec defaultCodec = create(false);
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a codec around an already configured mapper. The mapper must not be reconfigured afterwards.
+     *
+     * @param objectMapper the mapper used to build readers and writers
+     */
+    public JsonCodec(@NotNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates a codec with either the stock or the accelerated configuration.
+     *
+     * @param accelerated {@code false} for the stock {@link ObjectMapper} features; {@code true} for the DTO-friendly
+     *                    configuration described in the class documentation, with the Blackbird module registered
+     * @return a new codec
+     */
+    public static @NotNull JsonCodec create(boolean accelerated) {
+        if (!accelerated) {
+            return new JsonCodec(new ObjectMapper());
+        }
+        return new JsonCodec(JsonMapper.builder()
+                .addModule(new Jdk8Module())
+                .addModule(new JavaTimeModule())
+                .addModule(new ParameterNamesModule())
+                .addModule(new BlackbirdModule())
+                .constructorDetector(ConstructorDetector.USE_PROPERTIES_BASED)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build());
+    }
+
+    /**
+     * Returns the shared codec, which has the stock {@link ObjectMapper} features unless another one was installed
+     * with {@link #setDefault(JsonCodec)}.
+     *
+     * @return the default codec
+     */
+    public static @NotNull JsonCodec getDefault() {
+        return defaultCodec;
+    }
+
+    /**
+     * Installs the codec used by the JSON utilities of this package when no codec is passed to them, e.g.
+     * {@code JsonCodec.setDefault(JsonCodec.create(true))} at startup. Calls made afterwards use the new codec;
+     * queries already compiled with {@link JsonPathQuery#compile(String...)} keep the codec they were compiled with.
+     *
+     * @param codec the new default codec
+     */
+    public static void setDefault(@NotNull JsonCodec codec) {
+        defaultCodec = codec;
+    }
+
+    /**
+     * Returns a copy of the underlying mapper, e.g. to hand it to a message converter.
+     * <p>
+     * The copy has the same configuration, but changing it does not affect this codec or the readers and writers it
+     * has cached. To use a different configuration, create a new codec with {@link #JsonCodec(ObjectMapper)}.
+     * </p>
+     *
+     * @return a copy of the mapper of this codec
+     */
+    public @NotNull ObjectMapper getObjectMapper() {
+        return objectMapper.copy();
+    }
+
+    /**
+     * Returns the cached reader for the type.
+     *
+     * @param type the target type
+     * @return a thread-safe reader producing instances of the type
+     */
+    public @NotNull ObjectReader reader(@NotNull Type type) {
+        return reader(objectMapper.constructType(type));
+    }
+
+    /**
+     * Returns the cached reader for a generic type.
+     *
+     * @param type the reference to the target type
+     * @return a thread-safe reader producing instances of the type
+     */
+    public @NotNull ObjectReader reader(@NotNull TypeReference<?> type) {
+        return reader(objectMapper.constructType(type));
+    }
+
+    /**
+     * Returns the cached reader for the type.
+     *
+     * @param type the target type
+     * @return a thread-safe reader producing instances of the type
+     */
+    public @NotNull ObjectReader reader(@NotNull JavaType type) {
+        ObjectReader reader = readers.get(type);
+        return reader != null ? reader : readers.computeIfAbsent(type, objectMapper::readerFor);
+    }
+
+    /**
+     * Returns the cached writer for the type.
+     *
+     * @param type the type of the values to write
+     * @return a thread-safe writer serializing values as the type
+     */
+    public @NotNull ObjectWriter writer(@NotNull Type type) {
+        JavaType javaType = objectMapper.constructType(type);
+        ObjectWriter writer = writers.get(javaType);
+        return writer != null ? writer : writers.computeIfAbsent(javaType, objectMapper::writerFor);
+    }
+
+    /**
+     * Decodes a JSON string into an instance of the type.
+     *
+     * @param json the JSON text
+     * @param type the target type
+     * @param <T>  the target type
+     * @return the decoded value
+     * @throws JsonProcessingException if the text is not valid JSON or does not match the type
+     */
+    public <T> T read(@NotNull String json, @NotNull Class<T> type) throws JsonProcessingException {
+        return reader(type).readValue(json);
+    }
+
+    /**
+     * Encodes a value as a JSON string, using the writer of its runtime class.
+     *
+     * @param value the value to encode
+     * @return the JSON text
+     * @throws JsonProcessingException if the value cannot be serialized
+     */
+    public @NotNull String write(@NotNull Object value) throws JsonProcessingException {
+        return writer(value.getClass()).writeValueAsString(value);
+    }
+}
@@ -0,0 +1,122 @@
+package com.lianne.utils.json;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Reader;
+
+/**
+ * A JSON object or array embedded in a larger text, found by {@link JsonParserUtils#extractJsonFragments}.
+ * <p>
+ * The fragment is a view of the range {@code [start, end)} of the source text and does not copy it. It can be handed
+ * to a parser through {@link #reader()}, so even large embedded documents are never duplicated as strings.
+ * </p>
+ *
+ * @param text  the source text
+ * @param start the index of the opening bracket
+ * @param end   the index after the closing bracket
+ */
+public record JsonFragment(@NotNull CharSequence text, int start, int end) implements CharSequence {
+
+    /**
+     * Validates the range.
+     *
+     * @throws IndexOutOfBoundsException if the range is outside the text
+     */
+    public JsonFragment {
+        if (start < 0 || start > end || end > text.length()) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") out of text of length " + text.length());
+        }
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of fragment of length " + length());
+        }
+        return text.charAt(start + index);
+    }
+
+    @Override
+    public @NotNull CharSequence subSequence(int from, int to) {
+        if (from < 0 || from > to || to > length()) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of fragment of length " + length());
+        }
+        return new JsonFragment(text, start + from, start + to);
+    }
+
+    /**
+     * Returns a reader over the fragment that reads straight from the source text.
+     *
+     * @return a new reader positioned at the opening bracket
+     */
+    public @NotNull Reader reader() {
+        return new FragmentReader(text, start, end);
+    }
+
+    /**
+     * Copies the fragment into a string.
+     *
+     * @return the fragment text
+     */
+    @Override
+    public @NotNull String toString() {
+        return text.subSequence(start, end).toString();
+    }
+
+    /**
+     * Reader over a range of a {@link CharSequence}, copying in bulk when the text is a {@link String}.
+     */
+    private static class FragmentReader extends Reader {
+
+        private final CharSequence text;
+        private final int end;
+        private int position;
+
+        FragmentReader(@NotNull CharSequence text, int start, int end) {
+            this.text = text;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() {
+            return position < end ? text.charAt(position++) : -1;
+        }
+
+        @Override
+        public int read(char @NotNull [] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                return -1;
+            }
+            int count = Math.min(length, end - position);
+            if (text instanceof String string) {
+                string.getChars(position, position + count, buffer, offset);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    buffer[offset + i] = text.charAt(position + i);
+                }
+            }
+            position += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.min(Math.max(count, 0), end - position);
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
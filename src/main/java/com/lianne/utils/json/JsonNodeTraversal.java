@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -16,6 +17,10 @@ import java.util.Map;
  * extract field names and values in a flattened key-value structure, where keys are field names,
  * and values are the corresponding field values in text form.
  * </p>
+ * <p>
+ * Keying by field name loses values when names repeat or arrays hold several elements. `flattenJsonNode` keys every
+ * value by its full path instead. To flatten documents too large to hold as a tree, use {@link JsonStreamFlattener}.
+ * </p>
  */
 public class JsonNodeTraversal {
 
@@ -28,6 +33,7 @@ public class JsonNodeTraversal {
      * <p>
      * This method will process nested objects and arrays, flattening them into a map with
      * string keys representing the field names and string values representing the field values.
+     * When the same field name occurs more than once, the last value wins; use `flattenJsonNode` to keep them all.
      * </p>
      *
      * <h4>Usage:</h4>
@@ -49,6 +55,44 @@ public class JsonNodeTraversal {
         return collectibleItemSearchRequestParams;
     }
 
+    /**
+     * Flattens a `JsonNode` structure into a map keyed by the dot path of every value, e.g. `a.b[0].c`.
+     *
+     * @param node The root `JsonNode` structure to be flattened.
+     * @return A `Map<String, String>` of paths to values in document order.
+     */
+    public static @NotNull Map<String, String> flattenJsonNode(@NotNull JsonNode node) {
+        return flattenJsonNode(node, JsonPathBuilder.Style.DOT);
+    }
+
+    /**
+     * Flattens a `JsonNode` structure into a map keyed by the full path of every value.
+     * <p>
+     * Unlike `traverseJsonNode`, every value keeps its own entry: paths include all enclosing field names and array
+     * indices, so repeated field names and array elements never overwrite each other. The value at the root of a
+     * scalar document has the empty path. Empty objects and arrays produce no entries.
+     * </p>
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * JsonNode jsonNode = objectMapper.readTree("{\"items\":[{\"id\":1},{\"id\":2}]}");
+     * JsonNodeTraversal.flattenJsonNode(jsonNode, JsonPathBuilder.Style.DOT);          // {items[0].id=1, items[1].id=2}
+     * JsonNodeTraversal.flattenJsonNode(jsonNode, JsonPathBuilder.Style.JSON_POINTER); // {/items/0/id=1, /items/1/id=2}
+     * </pre>
+     *
+     * @param node The root `JsonNode` structure to be flattened.
+     * @param style The notation of the paths.
+     * @return A `Map<String, String>` of paths to values in document order.
+     */
+    public static @NotNull Map<String, String> flattenJsonNode(
+            @NotNull JsonNode node,
+            @NotNull JsonPathBuilder.Style style
+    ) {
+        Map<String, String> resultMap = new LinkedHashMap<>();
+        flattenJsonNodeInternal(node, new JsonPathBuilder(style), resultMap);
+        return resultMap;
+    }
+
     /**
      * Internal recursive method that processes the current `JsonNode` and traverses through its fields.
      * It handles objects, arrays, and value nodes recursively, adding field names and their values to the result map.
@@ -93,4 +137,36 @@ public class JsonNodeTraversal {
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Internal recursive method of `flattenJsonNode`: pushes a path segment for every child, recurses into it and pops
+     * the segment again, so all paths are built in the same buffer.
+     *
+     * @param node The current `JsonNode` being processed.
+     * @param path The path of the current node.
+     * @param resultMap The map where paths and values are collected.
+     */
+    private static void flattenJsonNodeInternal(
+            @NotNull JsonNode node,
+            @NotNull JsonPathBuilder path,
+            @NotNull Map<String, String> resultMap
+    ) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> entry = fields.next();
+                path.pushField(entry.getKey());
+                flattenJsonNodeInternal(entry.getValue(), path, resultMap);
+                path.pop();
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                path.pushIndex(i);
+                flattenJsonNodeInternal(node.get(i), path, resultMap);
+                path.pop();
+            }
+        } else {
+            resultMap.put(path.toString(), node.asText());
+        }
+    }
+
+}
@@ -1,77 +1,201 @@
 package com.lianne.utils.json;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Utility class for parsing and extracting JSON from text.
  * <p>
  * This class provides methods to:
  * - Safely parse a string into a JsonNode if the string is valid JSON.
- * - Extract a JSON string from text using regular expressions.
+ * - Extract JSON objects and arrays embedded in free text.
  * </p>
  * <h4>Key Features:</h4>
  * <ul>
  *   <li><b>parseJsonIfValid:</b> Attempts to parse a string as JSON and safely returns a JsonNode, or null if invalid.</li>
- *   <li><b>extractJson:</b> Uses regular expressions to extract a valid JSON string from a given response text.</li>
+ *   <li><b>extractJson:</b> Extracts the first balanced JSON object from a given response text.</li>
+ *   <li><b>extractJsonFragments:</b> Finds all top-level JSON objects and arrays in a text without copying them.</li>
  * </ul>
  * <p>
  * The class is useful for cases where the JSON format may not be guaranteed, and handling errors gracefully is necessary.
  * </p>
+ * <p>
+ * Extraction uses a single-pass bracket scanner instead of regular expressions: it runs in O(n), skips brackets
+ * inside JSON strings (honoring escapes) and only reports fragments whose brackets are balanced. It does not validate
+ * the content, so a fragment such as {@code [see above]} is reported and then rejected by the parser.
+ * </p>
  */
 public class JsonParserUtils {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
     /**
      * Utility class for parsing and extracting JSON from text.
      * <p>
      * This class provides methods to:
      * - Safely parse a string into a JsonNode if the string is valid JSON.
-     * - Extract a JSON string from text using regular expressions.
+     * - Extract a JSON string from text with a single-pass bracket scanner.
      * </p>
      * <h4>Key Features:</h4>
      * <ul>
      *   <li><b>parseJsonIfValid:</b> Attempts to parse a string as JSON and safely returns a JsonNode, or null if invalid.</li>
-     *   <li><b>extractJson:</b> Uses regular expressions to extract a valid JSON string from a given response text.</li>
+     *   <li><b>extractJson:</b> Scans the text for balanced brackets, skipping those inside JSON strings, to extract
+     *   the first JSON object from a given response text.</li>
      * </ul>
      * <p>
      * The class is useful for cases where the JSON format may not be guaranteed, and handling errors gracefully is necessary.
      * </p>
      */
     public static @Nullable JsonNode parseJsonIfValid(String text) {
+        return parseJsonIfValid(text, JsonCodec.getDefault());
+    }
+
+    /**
+     * Parses a string as JSON with the cached tree reader of the given codec.
+     *
+     * @param text  the text to parse
+     * @param codec the codec whose configuration is used
+     * @return the parsed JsonNode, or null if the text is not valid JSON
+     */
+    public static @Nullable JsonNode parseJsonIfValid(String text, @NotNull JsonCodec codec) {
         try {
             // try to convert the string to JsonNode
-            return objectMapper.readTree(text);
+            return codec.reader(JsonNode.class).readTree(text);
         } catch (Exception e) {
             return null;
         }
     }
 
     /**
-     * Utility class for parsing and extracting JSON from text.
+     * Parses an embedded JSON fragment straight from its source text, without copying it into a string.
+     *
+     * @param fragment the fragment to parse
+     * @return the parsed JsonNode, or null if the fragment is not valid JSON
+     */
+    public static @Nullable JsonNode parseJsonIfValid(@NotNull JsonFragment fragment) {
+        return parseJsonIfValid(fragment, JsonCodec.getDefault());
+    }
+
+    /**
+     * Parses an embedded JSON fragment with the cached tree reader of the given codec, without copying it.
+     *
+     * @param fragment the fragment to parse
+     * @param codec    the codec whose configuration is used
+     * @return the parsed JsonNode, or null if the fragment is not valid JSON
+     */
+    public static @Nullable JsonNode parseJsonIfValid(@NotNull JsonFragment fragment, @NotNull JsonCodec codec) {
+        try (Reader reader = fragment.reader()) {
+            return codec.reader(JsonNode.class).readTree(reader);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Extracts the first balanced JSON object from a text, e.g. from an LLM response that wraps JSON in prose.
      * <p>
-     * This class provides methods to:
-     * - Safely parse a string into a JsonNode if the string is valid JSON.
-     * - Extract a JSON string from text using regular expressions.
+     * Braces inside JSON strings are ignored, so the object ends at the brace that actually closes it, and text after
+     * it (including further objects) is not included. Use {@link #extractJsonFragments(CharSequence)} to get all of
+     * them.
      * </p>
-     * <h4>Key Features:</h4>
-     * <ul>
-     *   <li><b>parseJsonIfValid:</b> Attempts to parse a string as JSON and safely returns a JsonNode, or null if invalid.</li>
-     *   <li><b>extractJson:</b> Uses regular expressions to extract a valid JSON string from a given response text.</li>
-     * </ul>
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * JsonParserUtils.extractJson("Result: {\"a\": \"}\"} and {\"b\": 2}"); // {"a": "}"}
+     * JsonParserUtils.extractJson("no json here");                          // {}
+     * </pre>
+     *
+     * @param response the text containing a JSON object
+     * @return the first balanced JSON object, or "{}" if the text contains none
+     */
+    public static String extractJson(String response) {
+        List<JsonFragment> fragments = new ArrayList<>(1);
+        scan(response, false, true, fragments);
+        return fragments.isEmpty() ? "{}" : fragments.get(0).toString();
+    }
+
+    /**
+     * Finds all top-level JSON objects and arrays embedded in a text, in order of appearance.
      * <p>
-     * The class is useful for cases where the JSON format may not be guaranteed, and handling errors gracefully is necessary.
+     * Nested objects and arrays are part of their enclosing fragment and are not reported separately. The fragments
+     * are views of the text; pass them to {@link #parseJsonIfValid(JsonFragment)} to parse them without copying.
+     * An opening bracket that is never closed (e.g. in truncated text) hides the fragments after it.
      * </p>
+     *
+     * <h4>Usage:</h4>
+     * <pre>
+     * for (JsonFragment fragment : JsonParserUtils.extractJsonFragments(response)) {
+     *     JsonNode node = JsonParserUtils.parseJsonIfValid(fragment);
+     *     if (node != null) {
+     *         ...
+     *     }
+     * }
+     * </pre>
+     *
+     * @param text the text to scan
+     * @return the balanced fragments in order of appearance
      */
-    public static String extractJson(String response) {
-        Pattern pattern = Pattern.compile("\\{.*}", Pattern.DOTALL);
-        Matcher matcher = pattern.matcher(response);
-        return matcher.find() ? matcher.group() : "{}";
+    public static @NotNull List<JsonFragment> extractJsonFragments(@NotNull CharSequence text) {
+        List<JsonFragment> fragments = new ArrayList<>();
+        scan(text, true, false, fragments);
+        return fragments;
+    }
+
+    /**
+     * Single pass over the text that tracks the expected closing brackets on a stack. A fragment is reported when the
+     * stack becomes empty again; a mismatched closing bracket discards the open fragment.
+     *
+     * @param text          the text to scan
+     * @param includeArrays whether a top-level '[' starts a fragment, or only '{'
+     * @param firstOnly     whether to stop after the first fragment
+     * @param fragments     the list receiving the fragments
+     */
+    private static void scan(
+            @NotNull CharSequence text, boolean includeArrays, boolean firstOnly, @NotNull List<JsonFragment> fragments
+    ) {
+        char[] closers = new char[16];
+        int depth = 0;
+        int start = 0;
+        boolean inString = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '{' || c == '[') {
+                if (depth == 0) {
+                    if (c == '[' && !includeArrays) {
+                        continue;
+                    }
+                    start = i;
+                }
+                if (depth == closers.length) {
+                    closers = Arrays.copyOf(closers, depth * 2);
+                }
+                closers[depth++] = c == '{' ? '}' : ']';
+            } else if (depth > 0) {
+                if (c == '"') {
+                    inString = true;
+                } else if (c == '}' || c == ']') {
+                    if (c != closers[--depth]) {
+                        depth = 0;
+                    } else if (depth == 0) {
+                        fragments.add(new JsonFragment(text, start, i + 1));
+                        if (firstOnly) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package com.lianne.utils.json;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Reusable builder for the path of the current position inside a JSON document.
+ * <p>
+ * Segments are pushed when the traversal descends into a field or an array element and popped when it returns.
+ * All segments share one {@link StringBuilder}: a pop only truncates it to the length remembered by the matching
+ * push, so walking a wide document allocates nothing except the strings requested through {@link #toString()}.
+ * </p>
+ * <p>
+ * Two path styles are supported:
+ * </p>
+ * <ul>
+ *     <li>{@link Style#DOT}: {@code order.items[2].sku}. Field names that contain {@code .}, {@code [}, {@code ]},
+ *     {@code '} or are empty are written in bracket notation, e.g. {@code ['a.b']}, so distinct fields never produce
+ *     the same path.</li>
+ *     <li>{@link Style#JSON_POINTER}: {@code /order/items/2/sku} as defined by RFC 6901, with {@code ~} escaped as
+ *     {@code ~0} and {@code /} as {@code ~1}.</li>
+ * </ul>
+ * <p>
+ * The root of the document has the empty path in both styles. This class is not thread-safe.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * JsonPathBuilder path = new JsonPathBuilder(JsonPathBuilder.Style.JSON_POINTER);
+ * path.pushField("items");
+ * path.pushIndex(0);
+ * path.toString(); // "/items/0"
+ * path.pop();
+ * path.toString(); // "/items"
+ * </pre>
+ */
+public class JsonPathBuilder {
+
+    /**
+     * Notation used to render a path.
+     */
+    public enum Style {
+
+        /**
+         * Dot-separated field names with array indices in brackets: {@code a.b[0].c}.
+         */
+        DOT,
+
+        /**
+         * RFC 6901 JSON Pointer: {@code /a/b/0/c}.
+         */
+        JSON_POINTER
+    }
+
+    private final Style style;
+    private final StringBuilder path = new StringBuilder();
+    private int[] marks = new int[16];
+    private int depth;
+
+    /**
+     * Creates an empty path rendered in the given style.
+     *
+     * @param style the path notation
+     */
+    public JsonPathBuilder(@NotNull Style style) {
+        this.style = style;
+    }
+
+    /**
+     * Descends into an object field.
+     *
+     * @param name the field name
+     * @return this builder
+     */
+    public @NotNull JsonPathBuilder pushField(@NotNull CharSequence name) {
+        mark();
+        if (style == Style.JSON_POINTER) {
+            path.append('/');
+            appendPointerEscaped(name);
+        } else if (needsBrackets(name)) {
+            path.append("['");
+            appendQuoted(name);
+            path.append("']");
+        } else {
+            if (!path.isEmpty()) {
+                path.append('.');
+            }
+            path.append(name);
+        }
+        return this;
+    }
+
+    /**
+     * Descends into an array element.
+     *
+     * @param index the zero-based element index
+     * @return this builder
+     */
+    public @NotNull JsonPathBuilder pushIndex(int index) {
+        mark();
+        if (style == Style.JSON_POINTER) {
+            path.append('/').append(index);
+        } else {
+            path.append('[').append(index).append(']');
+        }
+        return this;
+    }
+
+    /**
+     * Returns to the parent of the current position by removing the last pushed segment.
+     *
+     * @return this builder
+     * @throws IllegalStateException if the path is at the root
+     */
+    public @NotNull JsonPathBuilder pop() {
+        if (depth == 0) {
+            throw new IllegalStateException("Path is already at the root");
+        }
+        path.setLength(marks[--depth]);
+        return this;
+    }
+
+    /**
+     * Returns the number of pushed segments.
+     *
+     * @return the depth of the current position, 0 for the root
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Removes all segments, returning to the root.
+     */
+    public void reset() {
+        path.setLength(0);
+        depth = 0;
+    }
+
+    /**
+     * Returns the style used to render this path.
+     *
+     * @return the path notation
+     */
+    public @NotNull Style getStyle() {
+        return style;
+    }
+
+    /**
+     * Returns the current path.
+     *
+     * @return the rendered path, empty for the root
+     */
+    @Override
+    public @NotNull String toString() {
+        return path.toString();
+    }
+
+    private void mark() {
+        if (depth == marks.length) {
+            marks = Arrays.copyOf(marks, depth * 2);
+        }
+        marks[depth++] = path.length();
+    }
+
+    private void appendPointerEscaped(@NotNull CharSequence name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '~') {
+                path.append("~0");
+            } else if (c == '/') {
+                path.append("~1");
+            } else {
+                path.append(c);
+            }
+        }
+    }
+
+    private void appendQuoted(@NotNull CharSequence name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '\'' || c == '\\') {
+                path.append('\\');
+            }
+            path.append(c);
+        }
+    }
+
+    private static boolean needsBrackets(@NotNull CharSequence name) {
+        if (name.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '.' || c == '[' || c == ']' || c == '\'' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,373 @@
+package com.lianne.utils.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * A set of JSONPath-like expressions compiled once and evaluated against JSON documents while streaming.
+ * <p>
+ * {@link JsonParserUtils#parseJsonIfValid(String)} builds the whole tree even when only a few fields are needed.
+ * A query reads the document token by token instead and follows only the branches that can still match one of its
+ * expressions; every other subtree is skipped with {@link JsonParser#skipChildren()} without being materialized.
+ * Only the matched values are built as {@link JsonNode} trees.
+ * </p>
+ * <p>
+ * Supported syntax:
+ * </p>
+ * <ul>
+ *     <li>{@code $} - the document root, required at the start of every expression</li>
+ *     <li>{@code .name} or {@code ['name']} / {@code ["name"]} - an object field; use the quoted form for names with
+ *     special characters, escaping quotes and backslashes with a backslash</li>
+ *     <li>{@code [n]} - the n-th (zero-based) array element</li>
+ *     <li>{@code .*} or {@code [*]} - every field of an object or every element of an array</li>
+ * </ul>
+ * <p>
+ * The expressions are merged into a prefix tree, so a document is read once however many expressions there are.
+ * A compiled query is immutable and may be shared between threads.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * JsonPathQuery query = JsonPathQuery.compile("$.user.id", "$.items[*].sku", "$['content-type']");
+ * Map&lt;String, List&lt;JsonNode&gt;&gt; values = query.extract(inputStream);
+ * String userId = values.get("$.user.id").get(0).asText();
+ * </pre>
+ */
+public class JsonPathQuery {
+
+    /**
+     * Segment matching every field or element.
+     */
+    private static final Object WILDCARD = new Object();
+
+    private final List<String> expressions;
+    private final ObjectReader treeReader;
+    private final Step root = new Step();
+
+    private JsonPathQuery(@NotNull JsonCodec codec, @NotNull List<String> expressions) {
+        this.expressions = expressions;
+        this.treeReader = codec.reader(JsonNode.class);
+        for (String expression : expressions) {
+            Step step = root;
+            for (Object segment : parse(expression)) {
+                step = step.child(segment);
+            }
+            step.expressions.add(expression);
+        }
+    }
+
+    /**
+     * Compiles the expressions into a query reading with the {@link JsonCodec#getDefault() default codec}.
+     *
+     * @param expressions the path expressions, each starting with {@code $}
+     * @return the compiled query
+     * @throws IllegalArgumentException if an expression is malformed
+     */
+    public static @NotNull JsonPathQuery compile(@NotNull String... expressions) {
+        return compile(Arrays.asList(expressions));
+    }
+
+    /**
+     * Compiles the expressions into a query reading with the {@link JsonCodec#getDefault() default codec}.
+     * An expression given more than once is compiled once.
+     *
+     * @param expressions the path expressions, each starting with {@code $}
+     * @return the compiled query
+     * @throws IllegalArgumentException if an expression is malformed
+     */
+    public static @NotNull JsonPathQuery compile(@NotNull Collection<String> expressions) {
+        return compile(JsonCodec.getDefault(), expressions);
+    }
+
+    /**
+     * Compiles the expressions into a query reading with the cached tree reader of the given codec.
+     * An expression given more than once is compiled once.
+     *
+     * @param codec       the codec whose configuration is used to parse the documents
+     * @param expressions the path expressions, each starting with {@code $}
+     * @return the compiled query
+     * @throws IllegalArgumentException if an expression is malformed
+     */
+    public static @NotNull JsonPathQuery compile(@NotNull JsonCodec codec, @NotNull Collection<String> expressions) {
+        return new JsonPathQuery(codec, List.copyOf(new LinkedHashSet<>(expressions)));
+    }
+
+    /**
+     * Returns the distinct expressions of this query in the order they were first given.
+     *
+     * @return the expressions
+     */
+    public @NotNull List<String> getExpressions() {
+        return expressions;
+    }
+
+    /**
+     * Evaluates the query against the JSON document read from the stream. The stream is not closed.
+     *
+     * @param inputStream the stream containing the JSON document
+     * @return a map from every expression to its matched values in document order, empty for no match
+     * @throws IOException if the stream cannot be read or does not contain valid JSON
+     */
+    public @NotNull Map<String, List<JsonNode>> extract(@NotNull InputStream inputStream) throws IOException {
+        try (JsonParser parser = treeReader.createParser(inputStream)) {
+            return extract(parser);
+        }
+    }
+
+    /**
+     * Evaluates the query against the JSON document read from the reader. The reader is not closed.
+     *
+     * @param reader the reader containing the JSON document
+     * @return a map from every expression to its matched values in document order, empty for no match
+     * @throws IOException if the reader cannot be read or does not contain valid JSON
+     */
+    public @NotNull Map<String, List<JsonNode>> extract(@NotNull Reader reader) throws IOException {
+        try (JsonParser parser = treeReader.createParser(reader)) {
+            return extract(parser);
+        }
+    }
+
+    /**
+     * Evaluates the query against a JSON string.
+     *
+     * @param json the JSON document
+     * @return a map from every expression to its matched values in document order, empty for no match
+     * @throws IOException if the text is not valid JSON
+     */
+    public @NotNull Map<String, List<JsonNode>> extract(@NotNull String json) throws IOException {
+        try (JsonParser parser = treeReader.createParser(json)) {
+            return extract(parser);
+        }
+    }
+
+    /**
+     * Evaluates the query against the next value of the parser.
+     *
+     * @param parser the parser positioned before the document
+     * @return a map from every expression to its matched values in document order, empty for no match
+     * @throws IOException if the input cannot be read or does not contain valid JSON
+     */
+    @NotNull Map<String, List<JsonNode>> extract(@NotNull JsonParser parser) throws IOException {
+        Map<String, List<JsonNode>> results = new LinkedHashMap<>();
+        for (String expression : expressions) {
+            results.put(expression, new ArrayList<>());
+        }
+        if (parser.nextToken() != null) {
+            visit(parser, List.of(root), results);
+        }
+        return results;
+    }
+
+    /**
+     * Processes the value at the current token, given the prefix tree steps that match its path.
+     */
+    private void visit(
+            @NotNull JsonParser parser, @NotNull List<Step> steps, @NotNull Map<String, List<JsonNode>> results
+    ) throws IOException {
+        if (steps.stream().anyMatch(step -> !step.expressions.isEmpty())) {
+            // Some expression ends here: read the value once and resolve the deeper steps on the tree
+            JsonNode value = treeReader.readTree(parser);
+            for (Step step : steps) {
+                collect(value, step, results);
+            }
+            return;
+        }
+
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                List<Step> next = next(steps, name);
+                parser.nextToken();
+                if (next == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, next, results);
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                List<Step> next = next(steps, index++);
+                if (next == null) {
+                    parser.skipChildren();
+                } else {
+                    visit(parser, next, results);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves a step and its descendants against an already materialized value.
+     */
+    private static void collect(
+            @NotNull JsonNode node, @NotNull Step step, @NotNull Map<String, List<JsonNode>> results
+    ) {
+        for (String expression : step.expressions) {
+            results.get(expression).add(node);
+        }
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                Step child = step.children.get(field.getKey());
+                if (child != null) {
+                    collect(field.getValue(), child, results);
+                }
+                if (step.wildcard != null) {
+                    collect(field.getValue(), step.wildcard, results);
+                }
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                Step child = step.children.get(i);
+                if (child != null) {
+                    collect(node.get(i), child, results);
+                }
+                if (step.wildcard != null) {
+                    collect(node.get(i), step.wildcard, results);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the steps matching the child with the given field name or array index, or {@code null} if none does.
+     */
+    private static @Nullable List<Step> next(@NotNull List<Step> steps, @NotNull Object segment) {
+        List<Step> next = null;
+        for (Step step : steps) {
+            Step child = step.children.get(segment);
+            if (child != null) {
+                next = add(next, child);
+            }
+            if (step.wildcard != null) {
+                next = add(next, step.wildcard);
+            }
+        }
+        return next;
+    }
+
+    private static @NotNull List<Step> add(@Nullable List<Step> steps, @NotNull Step step) {
+        if (steps == null) {
+            steps = new ArrayList<>(2);
+        }
+        steps.add(step);
+        return steps;
+    }
+
+    /**
+     * Splits an expression into segments: a {@link String} for a field name, an {@link Integer} for an array index
+     * and {@link #WILDCARD} for {@code *}.
+     */
+    private static @NotNull List<Object> parse(@NotNull String expression) {
+        if (!expression.startsWith("$")) {
+            throw new IllegalArgumentException("Path expression must start with '$': " + expression);
+        }
+        List<Object> segments = new ArrayList<>();
+        int i = 1;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < expression.length() && expression.charAt(i) != '.' && expression.charAt(i) != '[') {
+                    i++;
+                }
+                if (i == start) {
+                    throw malformed(expression, start, "field name expected");
+                }
+                String name = expression.substring(start, i);
+                segments.add(name.equals("*") ? WILDCARD : name);
+            } else if (c == '[') {
+                i = parseBracket(expression, i + 1, segments);
+            } else {
+                throw malformed(expression, i, "'.' or '[' expected");
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Parses the content of a bracket starting at {@code i} and returns the position after the closing bracket.
+     */
+    private static int parseBracket(@NotNull String expression, int i, @NotNull List<Object> segments) {
+        if (i >= expression.length()) {
+            throw malformed(expression, i, "unclosed '['");
+        }
+        char c = expression.charAt(i);
+        if (c == '*') {
+            segments.add(WILDCARD);
+            i++;
+        } else if (c == '\'' || c == '"') {
+            StringBuilder name = new StringBuilder();
+            i++;
+            while (i < expression.length() && expression.charAt(i) != c) {
+                if (expression.charAt(i) == '\\' && i + 1 < expression.length()) {
+                    i++;
+                }
+                name.append(expression.charAt(i++));
+            }
+            if (i >= expression.length()) {
+                throw malformed(expression, i, "unclosed quote");
+            }
+            segments.add(name.toString());
+            i++;
+        } else {
+            int start = i;
+            while (i < expression.length() && Character.isDigit(expression.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                throw malformed(expression, start, "index, '*' or quoted name expected");
+            }
+            try {
+                segments.add(Integer.parseInt(expression, start, i, 10));
+            } catch (NumberFormatException e) {
+                throw malformed(expression, start, "index out of range");
+            }
+        }
+        if (i >= expression.length() || expression.charAt(i) != ']') {
+            throw malformed(expression, i, "']' expected");
+        }
+        return i + 1;
+    }
+
+    private static @NotNull IllegalArgumentException malformed(
+            @NotNull String expression, int position, @NotNull String reason
+    ) {
+        return new IllegalArgumentException(
+                "Malformed path expression at position " + position + " (" + reason + "): " + expression
+        );
+    }
+
+    /**
+     * Node of the prefix tree built from all expressions. Children are keyed by field name ({@link String}) or array
+     * index ({@link Integer}).
+     */
+    private static class Step {
+
+        private final Map<Object, Step> children = new HashMap<>();
+        private final List<String> expressions = new ArrayList<>(1);
+        private Step wildcard;
+
+        @NotNull Step child(@NotNull Object segment) {
+            if (segment == WILDCARD) {
+                if (wildcard == null) {
+                    wildcard = new Step();
+                }
+                return wildcard;
+            }
+            return children.computeIfAbsent(segment, key -> new Step());
+        }
+    }
+}
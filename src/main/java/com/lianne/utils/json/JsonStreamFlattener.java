@@ -0,0 +1,180 @@
+package com.lianne.utils.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Utility class for flattening JSON documents into (path, value) pairs straight from the token stream.
+ * <p>
+ * {@link JsonNodeTraversal#traverseJsonNode(com.fasterxml.jackson.databind.JsonNode)} needs the whole document as a
+ * {@code JsonNode} tree and walks it recursively, which keeps the document in memory twice and can overflow the stack
+ * on deeply nested input. This class reads tokens with Jackson's {@link JsonParser} and tracks the current position
+ * with an explicit stack, so memory use depends only on the nesting depth and not on the document size. The nesting
+ * depth itself is limited by the parser's {@code StreamReadConstraints} (1000 by default).
+ * </p>
+ * <p>
+ * Every scalar value is reported with its full path, rendered by {@link JsonPathBuilder} as a dot path such as
+ * {@code order.items[2].sku} or as a JSON Pointer such as {@code /order/items/2/sku}. Values are reported as their JSON text: numbers keep their original
+ * notation, {@code null} is reported as {@code "null"}. Empty objects and arrays produce no pairs, the same as
+ * {@link JsonNodeTraversal}.
+ * </p>
+ *
+ * <h4>Usage:</h4>
+ * <pre>
+ * try (InputStream in = Files.newInputStream(Path.of("huge.json"))) {
+ *     JsonStreamFlattener.flatten(in, (path, value) -> System.out.println(path + " = " + value));
+ * }
+ *
+ * Map&lt;String, String&gt; flat = JsonStreamFlattener.flatten("{\"a\":{\"b\":[1,2]}}"); // {a.b[0]=1, a.b[1]=2}
+ * </pre>
+ */
+public class JsonStreamFlattener {
+
+    /**
+     * Flattens the JSON document read from the stream using dot paths. The stream is not closed.
+     *
+     * @param inputStream the stream containing the JSON document
+     * @param consumer    the callback receiving every (path, value) pair in document order
+     * @throws IOException if the stream cannot be read or does not contain valid JSON
+     */
+    public static void flatten(
+            @NotNull InputStream inputStream, @NotNull BiConsumer<String, String> consumer
+    ) throws IOException {
+        flatten(inputStream, JsonPathBuilder.Style.DOT, consumer);
+    }
+
+    /**
+     * Flattens the JSON document read from the stream. The stream is not closed.
+     *
+     * @param inputStream the stream containing the JSON document
+     * @param style       the notation of the reported paths
+     * @param consumer    the callback receiving every (path, value) pair in document order
+     * @throws IOException if the stream cannot be read or does not contain valid JSON
+     */
+    public static void flatten(
+            @NotNull InputStream inputStream,
+            @NotNull JsonPathBuilder.Style style,
+            @NotNull BiConsumer<String, String> consumer
+    ) throws IOException {
+        try (JsonParser parser = JsonCodec.getDefault().reader(JsonNode.class).createParser(inputStream)) {
+            flatten(parser, new JsonPathBuilder(style), consumer);
+        }
+    }
+
+    /**
+     * Flattens the JSON document read from the reader using dot paths. The reader is not closed.
+     *
+     * @param reader   the reader containing the JSON document
+     * @param consumer the callback receiving every (path, value) pair in document order
+     * @throws IOException if the reader cannot be read or does not contain valid JSON
+     */
+    public static void flatten(
+            @NotNull Reader reader, @NotNull BiConsumer<String, String> consumer
+    ) throws IOException {
+        flatten(reader, JsonPathBuilder.Style.DOT, consumer);
+    }
+
+    /**
+     * Flattens the JSON document read from the reader. The reader is not closed.
+     *
+     * @param reader   the reader containing the JSON document
+     * @param style    the notation of the reported paths
+     * @param consumer the callback receiving every (path, value) pair in document order
+     * @throws IOException if the reader cannot be read or does not contain valid JSON
+     */
+    public static void flatten(
+            @NotNull Reader reader,
+            @NotNull JsonPathBuilder.Style style,
+            @NotNull BiConsumer<String, String> consumer
+    ) throws IOException {
+        try (JsonParser parser = JsonCodec.getDefault().reader(JsonNode.class).createParser(reader)) {
+            flatten(parser, new JsonPathBuilder(style), consumer);
+        }
+    }
+
+    /**
+     * Flattens a JSON string into an ordered map from dot paths to values.
+     *
+     * @param json the JSON document
+     * @return a {@link LinkedHashMap} of paths to values in document order
+     * @throws IOException if the text is not valid JSON
+     */
+    public static @NotNull Map<String, String> flatten(@NotNull String json) throws IOException {
+        return flatten(json, JsonPathBuilder.Style.DOT);
+    }
+
+    /**
+     * Flattens a JSON string into an ordered map from paths to values.
+     *
+     * @param json  the JSON document
+     * @param style the notation of the paths
+     * @return a {@link LinkedHashMap} of paths to values in document order
+     * @throws IOException if the text is not valid JSON
+     */
+    public static @NotNull Map<String, String> flatten(
+            @NotNull String json, @NotNull JsonPathBuilder.Style style
+    ) throws IOException {
+        Map<String, String> result = new LinkedHashMap<>();
+        try (JsonParser parser = JsonCodec.getDefault().reader(JsonNode.class).createParser(json)) {
+            flatten(parser, new JsonPathBuilder(style), result::put);
+        }
+        return result;
+    }
+
+    /**
+     * Flattens all remaining tokens of the parser. Several root-level values are flattened one after the other.
+     * <p>
+     * Every value inside a container pushes one path segment, which is popped right after a scalar value and at the
+     * end of a nested container. The container stack holds the index of the next element for every open array and
+     * -1 for every open object.
+     * </p>
+     *
+     * @param parser   the parser positioned before the first token to flatten
+     * @param path     the builder tracking the current path, positioned at the root
+     * @param consumer the callback receiving every (path, value) pair in document order
+     * @throws IOException if the input cannot be read or does not contain valid JSON
+     */
+    static void flatten(
+            @NotNull JsonParser parser, @NotNull JsonPathBuilder path, @NotNull BiConsumer<String, String> consumer
+    ) throws IOException {
+        int[] arrayIndexes = new int[16];
+        int depth = 0;
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME) {
+                path.pushField(parser.currentName());
+                continue;
+            }
+            if (depth > 0 && arrayIndexes[depth - 1] >= 0 && !token.isStructEnd()) {
+                path.pushIndex(arrayIndexes[depth - 1]++);
+            }
+
+            if (token.isStructStart()) {
+                if (depth == arrayIndexes.length) {
+                    arrayIndexes = Arrays.copyOf(arrayIndexes, depth * 2);
+                }
+                arrayIndexes[depth++] = token == JsonToken.START_ARRAY ? 0 : -1;
+            } else if (token.isStructEnd()) {
+                if (--depth > 0) {
+                    path.pop();
+                }
+            } else {
+                consumer.accept(path.toString(), parser.getText());
+                if (depth > 0) {
+                    path.pop();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.lianne.utils.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lianne.utils.io.file.FastLineReader;
+import com.lianne.utils.io.file.FileReader;
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Reader for newline-delimited JSON (NDJSON / JSON Lines) that decodes records on several threads.
+ * <p>
+ * Combining {@link FileReader#readFileLines(String)} with {@link JsonParserUtils#parseJsonIfValid(String)} decodes
+ * one line at a time and turns every malformed line into {@code null}. This class reads the lines sequentially with
+ * {@link FastLineReader}, groups them into batches and decodes the batches in parallel with a shared
+ * {@link ObjectReader} from the {@link JsonCodec}, which is immutable and thread-safe. Every line produces an
+ * {@link NdjsonRecord} carrying its line number and either the decoded value or the parse error, so malformed lines
+ * are reported rather than dropped.
+ * Blank lines are skipped. Trailing content after a JSON value on the same line is treated as an error.
+ * </p>
+ * <p>
+ * At most {@code maxInFlightBatches} batches are read ahead of the consumer, which bounds memory on large files.
+ * With {@code ordered} set, records are delivered in input order; otherwise batches are delivered as soon as they are
+ * decoded, while records inside a batch stay in order. The consumer is always called on the thread that invoked
+ * {@code read}, so it needs no synchronization.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * NdjsonReader reader = NdjsonReader.builder()
+ *         .batchSize(512)
+ *         .ordered(false)
+ *         .build();
+ *
+ * long records = reader.read("events.jsonl", Event.class, record -> {
+ *     if (record.isValid()) {
+ *         process(record.value());
+ *     } else {
+ *         log.warn("Line {}: {}", record.lineNumber(), record.error().getOriginalMessage());
+ *     }
+ * });
+ * </pre>
+ */
+@Getter
+@Builder
+public class NdjsonReader {
+
+    /**
+     * Number of lines decoded together by one task.
+     */
+    @Builder.Default
+    private final int batchSize = 1024;
+
+    /**
+     * Number of decoding threads.
+     */
+    @Builder.Default
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of batches read but not yet delivered; 0 for twice the parallelism.
+     */
+    @Builder.Default
+    private final int maxInFlightBatches = 0;
+
+    /**
+     * Whether records are delivered in input order.
+     */
+    @Builder.Default
+    private final boolean ordered = true;
+
+    /**
+     * Charset of the input.
+     */
+    @Builder.Default
+    private final @NotNull Charset charset = StandardCharsets.UTF_8;
+
+    /**
+     * Size of the read buffer in bytes.
+     */
+    @Builder.Default
+    private final int bufferSize = FileReader.DEFAULT_STREAM_BUFFER_SIZE;
+
+    /**
+     * Codec providing the cached reader of the record type; {@code JsonCodec.create(true)} opts in to acceleration.
+     */
+    @Builder.Default
+    private final @NotNull JsonCodec codec = JsonCodec.getDefault();
+
+    /**
+     * Reads the file and decodes every line as a {@link JsonNode}.
+     *
+     * @param fileName the path of the NDJSON file
+     * @param consumer the callback receiving every record
+     * @return the number of records delivered
+     * @throws IOException if the file cannot be read
+     */
+    public long read(String fileName, @NotNull Consumer<NdjsonRecord<JsonNode>> consumer) throws IOException {
+        return read(fileName, JsonNode.class, consumer);
+    }
+
+    /**
+     * Reads the file and decodes every line as the given type.
+     *
+     * @param fileName the path of the NDJSON file
+     * @param type     the type of the records
+     * @param consumer the callback receiving every record
+     * @param <T>      the type of the records
+     * @return the number of records delivered
+     * @throws IOException if the file cannot be read
+     */
+    public <T> long read(
+            String fileName, @NotNull Class<T> type, @NotNull Consumer<NdjsonRecord<T>> consumer
+    ) throws IOException {
+        try (InputStream input = Files.newInputStream(Path.of(fileName))) {
+            return read(input, type, consumer);
+        }
+    }
+
+    /**
+     * Reads the stream and decodes every line as the given type. The stream is not closed.
+     *
+     * @param input    the stream containing NDJSON
+     * @param type     the type of the records
+     * @param consumer the callback receiving every record
+     * @param <T>      the type of the records
+     * @return the number of records delivered
+     * @throws IOException if the stream cannot be read
+     */
+    public <T> long read(
+            @NotNull InputStream input, @NotNull Class<T> type, @NotNull Consumer<NdjsonRecord<T>> consumer
+    ) throws IOException {
+        return read(input, codec.reader(type), consumer);
+    }
+
+    /**
+     * Reads the stream and decodes every line with the given reader. The stream is not closed.
+     *
+     * @param input        the stream containing NDJSON
+     * @param objectReader the reader decoding one line
+     * @param consumer     the callback receiving every record
+     * @param <T>          the type of the records
+     * @return the number of records delivered
+     * @throws IOException if the stream cannot be read
+     */
+    <T> long read(
+            @NotNull InputStream input, @NotNull ObjectReader objectReader, @NotNull Consumer<NdjsonRecord<T>> consumer
+    ) throws IOException {
+        if (batchSize <= 0 || parallelism <= 0 || maxInFlightBatches < 0) {
+            throw new IllegalArgumentException(
+                    "Invalid configuration: batchSize=" + batchSize + ", parallelism=" + parallelism
+                            + ", maxInFlightBatches=" + maxInFlightBatches
+            );
+        }
+        Iterator<String> lines = FastLineReader.isSupported(charset)
+                ? new FastLineReader(input, charset, bufferSize)
+                : new BufferedReader(new InputStreamReader(input, charset), bufferSize).lines().iterator();
+        try {
+            return decode(lines, objectReader.with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS), consumer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Submits batches of lines to a pool and delivers the decoded batches, keeping at most
+     * {@code maxInFlightBatches} of them pending.
+     */
+    private <T> long decode(
+            @NotNull Iterator<String> lines,
+            @NotNull ObjectReader objectReader,
+            @NotNull Consumer<NdjsonRecord<T>> consumer
+    ) throws IOException {
+        int maxInFlight = maxInFlightBatches > 0 ? maxInFlightBatches : 2 * parallelism;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        CompletionService<List<NdjsonRecord<T>>> completion = new ExecutorCompletionService<>(executor);
+        ArrayDeque<Future<List<NdjsonRecord<T>>>> pending = new ArrayDeque<>(maxInFlight);
+        int inFlight = 0;
+        long lineNumber = 0;
+        long delivered = 0;
+        try {
+            while (lines.hasNext()) {
+                String[] batch = new String[batchSize];
+                int size = 0;
+                while (size < batchSize && lines.hasNext()) {
+                    batch[size++] = lines.next();
+                }
+                long firstLineNumber = lineNumber + 1;
+                lineNumber += size;
+
+                if (inFlight == maxInFlight) {
+                    delivered += deliver(ordered ? pending.poll().get() : completion.take().get(), consumer);
+                    inFlight--;
+                }
+                int batchLength = size;
+                Callable<List<NdjsonRecord<T>>> task =
+                        () -> decodeBatch(batch, batchLength, firstLineNumber, objectReader);
+                if (ordered) {
+                    pending.add(executor.submit(task));
+                } else {
+                    completion.submit(task);
+                }
+                inFlight++;
+            }
+            while (inFlight > 0) {
+                delivered += deliver(ordered ? pending.poll().get() : completion.take().get(), consumer);
+                inFlight--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decoding NDJSON", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to decode NDJSON", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return delivered;
+    }
+
+    private static <T> @NotNull List<NdjsonRecord<T>> decodeBatch(
+            String @NotNull [] lines, int size, long firstLineNumber, @NotNull ObjectReader objectReader
+    ) {
+        List<NdjsonRecord<T>> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String line = lines[i];
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                records.add(new NdjsonRecord<>(firstLineNumber + i, objectReader.readValue(line), null));
+            } catch (JsonProcessingException e) {
+                records.add(new NdjsonRecord<>(firstLineNumber + i, null, e));
+            }
+        }
+        return records;
+    }
+
+    private static <T> int deliver(@NotNull List<NdjsonRecord<T>> records, @NotNull Consumer<NdjsonRecord<T>> consumer) {
+        records.forEach(consumer);
+        return records.size();
+    }
+}
@@ -0,0 +1,28 @@
+package com.lianne.utils.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * One record of a newline-delimited JSON input, as reported by {@link NdjsonReader}.
+ * <p>
+ * Exactly one of {@code value} and {@code error} is set, except for a valid {@code null} record, where both are
+ * {@code null}.
+ * </p>
+ *
+ * @param lineNumber the 1-based line number of the record in the input
+ * @param value      the decoded value, or {@code null} if the line is malformed
+ * @param error      the parse error of a malformed line, including its column, or {@code null}
+ * @param <T>        the type of the decoded values
+ */
+public record NdjsonRecord<T>(long lineNumber, @Nullable T value, @Nullable JsonProcessingException error) {
+
+    /**
+     * Checks whether the line was decoded successfully.
+     *
+     * @return {@code true} if there was no parse error
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.lianne.utils.map;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe frequency counter for keys of any type.
+ * <p>
+ * {@link MapCounter} updates a {@code HashMap<K, Integer>} with {@code compute}, which is not thread-safe and
+ * allocates a new boxed {@code Integer} on every increment. This class keeps one {@link LongAdder} per key in a
+ * {@link ConcurrentHashMap}: once a key exists, incrementing it is a lock-free read of the map plus a
+ * {@link LongAdder#add(long)}, which spreads contended updates over striped cells instead of retrying a single
+ * compare-and-set. Only the first increment of a new key goes through {@code computeIfAbsent}.
+ * </p>
+ * <p>
+ * Reads ({@link #get(Object)}, {@link #snapshot()}) are not atomic with respect to concurrent increments:
+ * they return a value that was correct at some point during the call.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * ConcurrentMapCounter&lt;String&gt; counter = new ConcurrentMapCounter&lt;&gt;();
+ * words.parallelStream().forEach(counter::increment);
+ * Map&lt;String, Long&gt; counts = counter.snapshot();
+ * </pre>
+ *
+ * @param <K> the type of the counted keys
+ */
+public class ConcurrentMapCounter<K> {
+
+    private final ConcurrentHashMap<K, LongAdder> counts;
+
+    /**
+     * Creates an empty counter.
+     */
+    public ConcurrentMapCounter() {
+        this.counts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates an empty counter sized for the expected number of distinct keys.
+     *
+     * @param expectedKeys the expected number of distinct keys
+     */
+    public ConcurrentMapCounter(int expectedKeys) {
+        this.counts = new ConcurrentHashMap<>(expectedKeys);
+    }
+
+    /**
+     * Increments the count of the given key by 1.
+     *
+     * @param key the key to count
+     */
+    public void increment(@NotNull K key) {
+        add(key, 1);
+    }
+
+    /**
+     * Adds the given amount to the count of the given key.
+     *
+     * @param key   the key to count
+     * @param delta the amount to add
+     */
+    public void add(@NotNull K key, long delta) {
+        LongAdder adder = counts.get(key);
+        if (adder == null) {
+            adder = counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.add(delta);
+    }
+
+    /**
+     * Returns the current count of the given key.
+     *
+     * @param key the key to look up
+     * @return the count, or 0 if the key was never counted
+     */
+    public long get(@NotNull K key) {
+        LongAdder adder = counts.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Returns the number of distinct keys counted so far.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * Returns a copy of the current counts.
+     *
+     * @return a new map from keys to counts
+     */
+    public @NotNull Map<K, Long> snapshot() {
+        Map<K, Long> snapshot = new HashMap<>(counts.size() * 4 / 3 + 1);
+        counts.forEach((key, adder) -> snapshot.put(key, adder.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Returns a copy of the current counts and resets every count to 0.
+     * <p>
+     * Every striped cell is read and cleared with one atomic swap, so no increment is lost or reported twice
+     * across consecutive calls.
+     * Keys are kept, so a reset counter does not reallocate its adders.
+     * </p>
+     *
+     * @return a new map from keys to the counts accumulated since the previous reset
+     */
+    public @NotNull Map<K, Long> snapshotAndReset() {
+        Map<K, Long> snapshot = new HashMap<>(counts.size() * 4 / 3 + 1);
+        counts.forEach((key, adder) -> snapshot.put(key, adder.sumThenReset()));
+        return snapshot;
+    }
+
+    /**
+     * Adds all counts of another counter to this counter.
+     *
+     * @param other the counter to merge into this one
+     */
+    public void merge(@NotNull ConcurrentMapCounter<? extends K> other) {
+        other.counts.forEach((key, adder) -> add(key, adder.sum()));
+    }
+
+    /**
+     * Adds all counts of a plain map, such as one filled by {@link MapCounter#counterStringKey}, to this counter.
+     *
+     * @param other the map of counts to merge into this one
+     */
+    public void merge(@NotNull Map<? extends K, ? extends Number> other) {
+        other.forEach((key, count) -> add(key, count.longValue()));
+    }
+}
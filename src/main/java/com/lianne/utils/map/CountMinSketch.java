@@ -0,0 +1,253 @@
+package com.lianne.utils.map;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Count-Min Sketch: approximate frequency counting in a fixed amount of memory.
+ * <p>
+ * {@link MapCounter} keeps an exact entry per distinct key, so the heap grows with the cardinality of the stream.
+ * A Count-Min Sketch keeps a fixed {@code depth x width} table of counters instead. Every key increments one counter
+ * per row, and its estimate is the smallest of those counters. Estimates never undercount; with probability
+ * {@code 1 - delta} they overcount by at most {@code epsilon * totalCount}.
+ * </p>
+ * <p>
+ * Every key is first reduced to a 64-bit value, and the row positions are derived from a 64-bit mix of it with fixed
+ * seeds, so sketches created with the same dimensions can be {@link #merge(CountMinSketch) merged}.
+ * Boxed integral keys ({@link Long}, {@link Integer}, {@link Short}, {@link Byte}, {@link Character}) are hashed by
+ * their numeric value, so a key counted through the {@code Object} overloads is found by the {@code long} overloads
+ * and the other way round; as a consequence {@code 5} and {@code 5L} are the same key. {@link CharSequence} keys are
+ * hashed over their characters into 64 bits, with a seed of their own. All other keys are reduced to their 32-bit
+ * {@link Object#hashCode()}: two such keys with equal hash codes collide in every row, so for them a larger depth
+ * does not lower the error.
+ * This class is not thread-safe: use one sketch per thread or shard and merge them.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * // Overcount by at most 0.1% of the total with 99.9% probability, using about 160KB
+ * CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+ * urls.forEach(sketch::add);
+ * long hits = sketch.estimate("/index.html");
+ * </pre>
+ */
+public class CountMinSketch {
+
+    private static final long CHARS_SEED = 0xCBF29CE484222325L;
+    private static final long OBJECT_SEED = 0x9E3779B97F4A7C15L;
+
+    private final int depth;
+    private final int width;
+    private final long[] table;
+    private long totalCount;
+
+    /**
+     * Creates a sketch sized for the given error bounds.
+     * <p>
+     * The width is {@code ceil(e / epsilon)} and the depth is {@code ceil(ln(1 / delta))}.
+     * </p>
+     *
+     * @param epsilon the maximum overcount as a fraction of the total count, e.g. 0.001
+     * @param delta   the probability that an estimate exceeds the bound, e.g. 0.001
+     * @throws IllegalArgumentException if a bound is not in {@code (0, 1)}
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        this(depthFor(delta), widthFor(epsilon));
+    }
+
+    /**
+     * Creates a sketch with explicit dimensions.
+     *
+     * @param depth the number of rows (hash functions)
+     * @param width the number of counters per row
+     * @throws IllegalArgumentException if a dimension is not positive or the table is too large
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Depth and width must be positive: " + depth + "x" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.table = new long[Math.multiplyExact(depth, width)];
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @param key the key to count
+     */
+    public void add(@NotNull Object key) {
+        add(keyOf(key), 1);
+    }
+
+    /**
+     * Counts one occurrence of a primitive key.
+     *
+     * @param key the key to count
+     */
+    public void add(long key) {
+        add(key, 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of the key.
+     *
+     * @param key   the key to count
+     * @param count the number of occurrences, not negative
+     */
+    public void add(@NotNull Object key, long count) {
+        add(keyOf(key), count);
+    }
+
+    /**
+     * Counts {@code count} occurrences of a primitive key.
+     *
+     * @param key   the key to count
+     * @param count the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(long key, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        long hash1 = mix(key);
+        long hash2 = mix(hash1) | 1;
+        for (int row = 0; row < depth; row++) {
+            table[row * width + index(hash1 + row * hash2)] += count;
+        }
+        totalCount += count;
+    }
+
+    /**
+     * Returns the estimated count of the key, which is never below the true count.
+     *
+     * @param key the key to look up
+     * @return the estimated count
+     */
+    public long estimate(@NotNull Object key) {
+        return estimate(keyOf(key));
+    }
+
+    /**
+     * Returns the estimated count of a primitive key, which is never below the true count.
+     *
+     * @param key the key to look up
+     * @return the estimated count
+     */
+    public long estimate(long key) {
+        long hash1 = mix(key);
+        long hash2 = mix(hash1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, table[row * width + index(hash1 + row * hash2)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Adds the counters of another sketch with the same dimensions to this sketch.
+     *
+     * @param other the sketch to merge into this one
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public void merge(@NotNull CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException(
+                    "Cannot merge a " + other.depth + "x" + other.width + " sketch into a " + depth + "x" + width + " sketch"
+            );
+        }
+        for (int i = 0; i < table.length; i++) {
+            table[i] += other.table[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * Returns the sum of all counts added to the sketch.
+     *
+     * @return the total count
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the depth of the sketch
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of counters per row.
+     *
+     * @return the width of the sketch
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Maps an object key to the {@code long} key it is counted under.
+     */
+    private static long keyOf(@NotNull Object key) {
+        if (key instanceof Long value) {
+            return value;
+        }
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        }
+        if (key instanceof Character value) {
+            return value;
+        }
+        if (key instanceof CharSequence chars) {
+            return hashChars(chars);
+        }
+        // The seed's upper half is neither all zeros nor all ones, so no int-sized numeric key maps here
+        return key.hashCode() ^ OBJECT_SEED;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, started from a seed of its own.
+     */
+    private static long hashChars(@NotNull CharSequence chars) {
+        long hash = CHARS_SEED;
+        int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            hash ^= chars.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private int index(long hash) {
+        return (int) Long.remainderUnsigned(hash, width);
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3, spreading every input bit over the whole output.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static int depthFor(double delta) {
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Delta must be in (0, 1): " + delta);
+        }
+        return (int) Math.ceil(Math.log(1 / delta));
+    }
+
+    private static int widthFor(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon must be in (0, 1): " + epsilon);
+        }
+        return (int) Math.ceil(Math.E / epsilon);
+    }
+}
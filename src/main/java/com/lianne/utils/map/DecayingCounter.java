@@ -0,0 +1,138 @@
+package com.lianne.utils.map;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe frequency counter whose counts decay exponentially over time.
+ * <p>
+ * An occurrence counts as 1 when it happens, 0.5 after one half-life, 0.25 after two, and so on. This favors recent
+ * activity without the hard cut-off of a {@link SlidingWindowCounter} and needs only one value per key.
+ * </p>
+ * <p>
+ * Each key stores its decayed value together with the time of its last update. An increment decays the stored value
+ * to the current time and adds to it inside a single {@link ConcurrentHashMap#compute} call, so it is O(1) and atomic
+ * per key. Reads decay the stored value to the current time without modifying it.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * DecayingCounter&lt;String&gt; trending = new DecayingCounter&lt;&gt;(Duration.ofMinutes(10));
+ * trending.increment("#java");
+ * double score = trending.get("#java");
+ * trending.prune(0.01); // forget keys that have gone quiet
+ * </pre>
+ *
+ * @param <K> the type of the counted keys
+ */
+public class DecayingCounter<K> {
+
+    private final double decayPerMilli;
+    private final LongSupplier clockMillis;
+    private final ConcurrentHashMap<K, DecayedValue> values = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a counter using the system clock.
+     *
+     * @param halfLife the time after which a count has decayed to half its value
+     * @throws IllegalArgumentException if the half-life is not positive
+     */
+    public DecayingCounter(@NotNull Duration halfLife) {
+        this(halfLife, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a counter using the given clock.
+     *
+     * @param halfLife    the time after which a count has decayed to half its value
+     * @param clockMillis the source of the current time in milliseconds
+     * @throws IllegalArgumentException if the half-life is not positive
+     */
+    public DecayingCounter(@NotNull Duration halfLife, @NotNull LongSupplier clockMillis) {
+        if (halfLife.toMillis() <= 0) {
+            throw new IllegalArgumentException("Half-life must be at least 1ms: " + halfLife);
+        }
+        this.decayPerMilli = Math.log(2) / halfLife.toMillis();
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * Counts one occurrence of the key at the current time.
+     *
+     * @param key the key to count
+     */
+    public void increment(@NotNull K key) {
+        add(key, 1);
+    }
+
+    /**
+     * Counts a weighted occurrence of the key at the current time.
+     *
+     * @param key    the key to count
+     * @param amount the weight of the occurrence
+     */
+    public void add(@NotNull K key, double amount) {
+        long now = clockMillis.getAsLong();
+        values.compute(key, (k, current) -> current == null
+                ? new DecayedValue(amount, now)
+                : new DecayedValue(current.valueAt(now, decayPerMilli) + amount, Math.max(now, current.timestamp)));
+    }
+
+    /**
+     * Returns the decayed count of the key at the current time.
+     *
+     * @param key the key to look up
+     * @return the decayed count, or 0 if the key was never counted
+     */
+    public double get(@NotNull K key) {
+        DecayedValue value = values.get(key);
+        return value == null ? 0 : value.valueAt(clockMillis.getAsLong(), decayPerMilli);
+    }
+
+    /**
+     * Returns the decayed counts of all keys at the current time.
+     *
+     * @return a new map from keys to decayed counts
+     */
+    public @NotNull Map<K, Double> snapshot() {
+        long now = clockMillis.getAsLong();
+        Map<K, Double> snapshot = new HashMap<>(values.size() * 4 / 3 + 1);
+        values.forEach((key, value) -> snapshot.put(key, value.valueAt(now, decayPerMilli)));
+        return snapshot;
+    }
+
+    /**
+     * Removes the keys whose decayed count has dropped below the threshold, to keep memory bounded.
+     *
+     * @param threshold the smallest decayed count worth keeping
+     */
+    public void prune(double threshold) {
+        long now = clockMillis.getAsLong();
+        values.entrySet().removeIf(entry -> entry.getValue().valueAt(now, decayPerMilli) < threshold);
+    }
+
+    /**
+     * Returns the number of keys currently stored.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * A count decayed up to {@code timestamp}.
+     */
+    private record DecayedValue(double value, long timestamp) {
+
+        double valueAt(long now, double decayPerMilli) {
+            long elapsed = now - timestamp;
+            return elapsed <= 0 ? value : value * Math.exp(-decayPerMilli * elapsed);
+        }
+    }
+}
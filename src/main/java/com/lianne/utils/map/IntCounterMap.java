@@ -0,0 +1,353 @@
+package com.lianne.utils.map;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Frequency counter for primitive {@code int} keys backed by open addressing with linear probing.
+ * <p>
+ * {@link MapCounter#counterIntegerKey(Integer, java.util.HashMap)} stores a {@code HashMap<Integer, Integer>}, boxing
+ * the key and the count and allocating a map entry for every distinct key. This class stores keys and counts in two
+ * parallel primitive arrays, so incrementing never allocates, except when the table grows. Iteration with
+ * {@link #forEach(IntLongConsumer)} does not allocate either.
+ * </p>
+ * <p>
+ * The table grows by doubling once it is 70% full, up to 2^30 slots (about 750 million distinct keys). Key {@code 0}
+ * marks free slots, so its count is stored separately.
+ * This class is not thread-safe; use one instance per thread and {@link #merge(IntCounterMap)} the results.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * IntCounterMap counter = new IntCounterMap();
+ * for (int value : values) {
+ *     counter.increment(value);
+ * }
+ * int[] mostFrequent = counter.topN(10);
+ * counter.forEach((key, count) -> System.out.println(key + "=" + count));
+ * </pre>
+ */
+public class IntCounterMap {
+
+    private static final int FREE_KEY = 0;
+    private static final float LOAD_FACTOR = 0.7f;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private long[] counts;
+    private int mask;
+    private int resizeThreshold;
+    private int usedSlots;
+
+    private boolean hasFreeKey;
+    private long freeKeyCount;
+
+    /**
+     * Creates an empty counter.
+     */
+    public IntCounterMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty counter sized to hold the expected number of distinct keys without growing.
+     *
+     * @param expectedKeys the expected number of distinct keys
+     */
+    public IntCounterMap(int expectedKeys) {
+        allocate(tableSizeFor(expectedKeys));
+    }
+
+    /**
+     * Increments the count of the given key by 1.
+     *
+     * @param key the key to count
+     */
+    public void increment(int key) {
+        add(key, 1);
+    }
+
+    /**
+     * Adds the given amount to the count of the given key.
+     *
+     * @param key   the key to count
+     * @param delta the amount to add
+     * @throws IllegalStateException if the key is new and the table is full at its maximum capacity
+     */
+    public void add(int key, long delta) {
+        if (key == FREE_KEY) {
+            hasFreeKey = true;
+            freeKeyCount += delta;
+            return;
+        }
+
+        int slot = slot(key);
+        while (true) {
+            int current = keys[slot];
+            if (current == key) {
+                counts[slot] += delta;
+                return;
+            }
+            if (current == FREE_KEY) {
+                if (usedSlots + 1 >= resizeThreshold && keys.length == MAX_CAPACITY) {
+                    throw new IllegalStateException(
+                            "Cannot add key " + key + ": the counter is full with " + usedSlots + " keys"
+                    );
+                }
+                keys[slot] = key;
+                counts[slot] = delta;
+                if (++usedSlots >= resizeThreshold) {
+                    rehash(keys.length * 2);
+                }
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the count of the given key.
+     *
+     * @param key the key to look up
+     * @return the count, or 0 if the key was never counted
+     */
+    public long get(int key) {
+        if (key == FREE_KEY) {
+            return freeKeyCount;
+        }
+
+        int slot = slot(key);
+        while (true) {
+            int current = keys[slot];
+            if (current == key) {
+                return counts[slot];
+            }
+            if (current == FREE_KEY) {
+                return 0;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Checks whether the key was counted.
+     *
+     * @param key the key to look up
+     * @return {@code true} if the key was added at least once
+     */
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) {
+            return hasFreeKey;
+        }
+
+        int slot = slot(key);
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return usedSlots + (hasFreeKey ? 1 : 0);
+    }
+
+    /**
+     * Passes every key and its count to the consumer, in no particular order, without allocating.
+     *
+     * @param consumer the callback receiving the entries
+     */
+    public void forEach(@NotNull IntLongConsumer consumer) {
+        if (hasFreeKey) {
+            consumer.accept(FREE_KEY, freeKeyCount);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE_KEY) {
+                consumer.accept(keys[slot], counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the keys with the highest counts, most frequent first.
+     * <p>
+     * Runs in O(size * log n) with a bounded min-heap stored in two primitive arrays.
+     * Ties are broken by the smaller key.
+     * </p>
+     *
+     * @param n the maximum number of keys to return
+     * @return up to {@code n} keys ordered by descending count
+     */
+    public int @NotNull [] topN(int n) {
+        int limit = Math.min(Math.max(n, 0), size());
+        TopHeap heap = new TopHeap(limit);
+        if (limit > 0) {
+            forEach(heap::offer);
+        }
+        return heap.drainDescending();
+    }
+
+    /**
+     * Adds all counts of another counter to this counter. Merging a counter into itself doubles its counts.
+     *
+     * @param other the counter to merge into this one
+     * @throws IllegalStateException if the merged keys do not fit, see {@link #add(int, long)}
+     */
+    public void merge(@NotNull IntCounterMap other) {
+        if (other == this) {
+            // Free slots hold a count of 0, so the arrays can be doubled as a whole without iterating over entries
+            freeKeyCount *= 2;
+            for (int slot = 0; slot < counts.length; slot++) {
+                counts[slot] *= 2;
+            }
+            return;
+        }
+        other.forEach(this::add);
+    }
+
+    /**
+     * Removes all keys, keeping the current table capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(counts, 0);
+        usedSlots = 0;
+        hasFreeKey = false;
+        freeKeyCount = 0;
+    }
+
+    private int slot(int key) {
+        // Fibonacci hashing spreads sequential keys over the whole table
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        counts = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        long[] oldCounts = counts;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != FREE_KEY) {
+                int slot = slot(key);
+                while (keys[slot] != FREE_KEY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest power of two whose 70% load holds the expected number of keys.
+     */
+    private static int tableSizeFor(int expectedKeys) {
+        long required = Math.max(MIN_CAPACITY, (long) Math.ceil(Math.max(expectedKeys, 0) / LOAD_FACTOR) + 1);
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many expected keys: " + expectedKeys);
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    /**
+     * Bounded binary min-heap of (count, key) pairs keeping the {@code capacity} largest counts.
+     */
+    private static class TopHeap {
+
+        private final int[] heapKeys;
+        private final long[] heapCounts;
+        private int size;
+
+        TopHeap(int capacity) {
+            this.heapKeys = new int[capacity];
+            this.heapCounts = new long[capacity];
+        }
+
+        void offer(int key, long count) {
+            if (size < heapKeys.length) {
+                heapKeys[size] = key;
+                heapCounts[size] = count;
+                siftUp(size++);
+            } else if (size > 0 && isLower(0, key, count)) {
+                heapKeys[0] = key;
+                heapCounts[0] = count;
+                siftDown(0);
+            }
+        }
+
+        int[] drainDescending() {
+            int[] result = new int[size];
+            while (size > 0) {
+                result[size - 1] = heapKeys[0];
+                size--;
+                heapKeys[0] = heapKeys[size];
+                heapCounts[0] = heapCounts[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        /**
+         * Checks whether the heap entry at {@code index} ranks below the given pair.
+         */
+        private boolean isLower(int index, int key, long count) {
+            return heapCounts[index] < count || (heapCounts[index] == count && heapKeys[index] > key);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!isLower(index, heapKeys[parent], heapCounts[parent])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int lowest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && isLower(left, heapKeys[lowest], heapCounts[lowest])) {
+                    lowest = left;
+                }
+                if (right < size && isLower(right, heapKeys[lowest], heapCounts[lowest])) {
+                    lowest = right;
+                }
+                if (lowest == index) {
+                    return;
+                }
+                swap(index, lowest);
+                index = lowest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int key = heapKeys[i];
+            heapKeys[i] = heapKeys[j];
+            heapKeys[j] = key;
+            long count = heapCounts[i];
+            heapCounts[i] = heapCounts[j];
+            heapCounts[j] = count;
+        }
+    }
+}
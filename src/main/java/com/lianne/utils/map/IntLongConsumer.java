@@ -0,0 +1,17 @@
+package com.lianne.utils.map;
+
+/**
+ * Callback receiving a primitive {@code int} key and {@code long} value, used to iterate
+ * {@link IntCounterMap} without boxing.
+ */
+@FunctionalInterface
+public interface IntLongConsumer {
+
+    /**
+     * Processes one entry.
+     *
+     * @param key   the key
+     * @param value the value associated with the key
+     */
+    void accept(int key, long value);
+}
@@ -12,6 +12,13 @@ import java.util.HashMap;
  * of these keys in a `HashMap` where the key is the object to be counted,
  * and the value is the frequency of its occurrence.
  * </p>
+ * <p>
+ * These methods are not thread-safe. To count from several threads, use {@link ConcurrentMapCounter}.
+ * To count large volumes of primitive {@code int} keys without boxing, use {@link IntCounterMap}.
+ * For high-cardinality streams where bounded memory matters more than exact counts, use {@link CountMinSketch}
+ * for point estimates and {@link SpaceSavingCounter} for the most frequent keys. For counts over recent time only,
+ * use {@link SlidingWindowCounter} or {@link DecayingCounter}.
+ * </p>
  */
 public class MapCounter {
 
@@ -0,0 +1,194 @@
+package com.lianne.utils.map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe frequency counter over a sliding time window ("counts in the last N minutes").
+ * <p>
+ * Instead of rebuilding a {@link MapCounter} map periodically, the window is split into a ring of time buckets.
+ * Every increment goes to the bucket of the current time slice. When the ring wraps around, the stale bucket in the
+ * slot is replaced with a single compare-and-set, so rotation needs no lock and no background thread.
+ * Queries sum the buckets that are still inside the window.
+ * </p>
+ * <p>
+ * Increments are O(1). A query for one key costs O(bucketCount). Because the current bucket is only partly filled,
+ * a query covers between {@code window - window / bucketCount} and {@code window} of history; more buckets give a
+ * smoother window.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * // Requests per endpoint over the last 5 minutes, with 10-second resolution
+ * SlidingWindowCounter&lt;String&gt; counter = new SlidingWindowCounter&lt;&gt;(Duration.ofMinutes(5), 30);
+ * counter.increment("/api/items");
+ * long recent = counter.count("/api/items");
+ * </pre>
+ *
+ * @param <K> the type of the counted keys
+ */
+public class SlidingWindowCounter<K> {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicReferenceArray<Bucket<K>> buckets;
+    private final LongSupplier clockMillis;
+
+    /**
+     * Creates a counter using the system clock.
+     *
+     * @param window      the length of the window
+     * @param bucketCount the number of buckets the window is split into
+     * @throws IllegalArgumentException if the window is shorter than {@code bucketCount} milliseconds
+     */
+    public SlidingWindowCounter(@NotNull Duration window, int bucketCount) {
+        this(window, bucketCount, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a counter using the given clock.
+     *
+     * @param window      the length of the window
+     * @param bucketCount the number of buckets the window is split into
+     * @param clockMillis the source of the current time in milliseconds
+     * @throws IllegalArgumentException if the window is shorter than {@code bucketCount} milliseconds
+     */
+    public SlidingWindowCounter(@NotNull Duration window, int bucketCount, @NotNull LongSupplier clockMillis) {
+        if (bucketCount <= 0 || window.toMillis() < bucketCount) {
+            throw new IllegalArgumentException(
+                    "Window " + window + " cannot be split into " + bucketCount + " buckets of at least 1ms"
+            );
+        }
+        this.bucketMillis = window.toMillis() / bucketCount;
+        this.bucketCount = bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * Counts one occurrence of the key at the current time.
+     *
+     * @param key the key to count
+     */
+    public void increment(@NotNull K key) {
+        add(key, 1);
+    }
+
+    /**
+     * Counts {@code delta} occurrences of the key at the current time.
+     *
+     * @param key   the key to count
+     * @param delta the number of occurrences
+     */
+    public void add(@NotNull K key, long delta) {
+        Bucket<K> bucket = currentBucket(clockMillis.getAsLong() / bucketMillis);
+        if (bucket == null) {
+            return;
+        }
+        LongAdder adder = bucket.counts.get(key);
+        if (adder == null) {
+            adder = bucket.counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        adder.add(delta);
+        bucket.total.add(delta);
+    }
+
+    /**
+     * Returns the number of occurrences of the key inside the window.
+     *
+     * @param key the key to look up
+     * @return the windowed count
+     */
+    public long count(@NotNull K key) {
+        long now = clockMillis.getAsLong() / bucketMillis;
+        long count = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket<K> bucket = buckets.get(i);
+            if (isInWindow(bucket, now)) {
+                LongAdder adder = bucket.counts.get(key);
+                if (adder != null) {
+                    count += adder.sum();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of occurrences of all keys inside the window.
+     *
+     * @return the windowed total
+     */
+    public long total() {
+        long now = clockMillis.getAsLong() / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket<K> bucket = buckets.get(i);
+            if (isInWindow(bucket, now)) {
+                total += bucket.total.sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the windowed counts of all keys seen inside the window.
+     *
+     * @return a new map from keys to windowed counts
+     */
+    public @NotNull Map<K, Long> snapshot() {
+        long now = clockMillis.getAsLong() / bucketMillis;
+        Map<K, Long> snapshot = new HashMap<>();
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket<K> bucket = buckets.get(i);
+            if (isInWindow(bucket, now)) {
+                bucket.counts.forEach((key, adder) -> snapshot.merge(key, adder.sum(), Long::sum));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the bucket of the given time slice, replacing a stale bucket in its slot if needed.
+     * Returns {@code null} for an increment that arrives after its slot was already reused by a newer slice.
+     */
+    private @Nullable Bucket<K> currentBucket(long epoch) {
+        int index = (int) Math.floorMod(epoch, (long) bucketCount);
+        while (true) {
+            Bucket<K> bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch >= epoch) {
+                return bucket.epoch == epoch ? bucket : null;
+            }
+            Bucket<K> fresh = new Bucket<>(epoch);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private boolean isInWindow(@Nullable Bucket<K> bucket, long now) {
+        return bucket != null && bucket.epoch > now - bucketCount && bucket.epoch <= now;
+    }
+
+    /**
+     * Counts of one time slice.
+     */
+    private static class Bucket<K> {
+
+        private final long epoch;
+        private final ConcurrentHashMap<K, LongAdder> counts = new ConcurrentHashMap<>();
+        private final LongAdder total = new LongAdder();
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
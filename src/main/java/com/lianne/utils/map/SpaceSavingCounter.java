@@ -0,0 +1,278 @@
+package com.lianne.utils.map;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Space-Saving top-K counter: tracks the most frequent keys of a stream in a fixed number of slots.
+ * <p>
+ * Only {@code capacity} keys are kept. When a new key arrives and all slots are used, the key with the smallest count
+ * is evicted and the new key takes over its count plus one, recording the inherited count as its maximum error.
+ * Every key whose true count exceeds {@code totalCount / capacity} is guaranteed to be tracked, and a tracked key's
+ * true count lies within {@code [count - error, count]}.
+ * </p>
+ * <p>
+ * The slots are organized as an indexed min-heap, so an update costs O(log capacity) and never allocates once the
+ * key is tracked. This class is not thread-safe: use one counter per thread or shard and
+ * {@link #merge(SpaceSavingCounter) merge} them.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * SpaceSavingCounter&lt;String&gt; counter = new SpaceSavingCounter&lt;&gt;(1000);
+ * userIds.forEach(counter::add);
+ * counter.top(10).forEach(hitter ->
+ *         System.out.println(hitter.key() + " ~" + hitter.count() + " (+/- " + hitter.error() + ")"));
+ * </pre>
+ *
+ * @param <K> the type of the counted keys
+ */
+public class SpaceSavingCounter<K> {
+
+    /**
+     * A tracked key with its estimated count and the maximum overestimation of that count.
+     *
+     * @param key   the key
+     * @param count the estimated count, never below the true count
+     * @param error the maximum overestimation, so the true count is at least {@code count - error}
+     * @param <K>   the type of the key
+     */
+    public record HeavyHitter<K>(K key, long count, long error) {
+    }
+
+    private final int capacity;
+    private final Map<K, Integer> slotsByKey;
+    private final Object[] keys;
+    private final long[] counts;
+    private final long[] errors;
+
+    /**
+     * Slots ordered as a binary min-heap by count.
+     */
+    private final int[] heap;
+
+    /**
+     * Position of every slot inside {@link #heap}.
+     */
+    private final int[] heapPositions;
+
+    private int size;
+    private long totalCount;
+
+    /**
+     * Creates a counter tracking at most {@code capacity} keys.
+     *
+     * @param capacity the number of slots; keys more frequent than {@code 1 / capacity} of the stream are always kept
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public SpaceSavingCounter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slotsByKey = new HashMap<>(capacity * 4 / 3 + 1);
+        this.keys = new Object[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPositions = new int[capacity];
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @param key the key to count
+     */
+    public void add(@NotNull K key) {
+        add(key, 1);
+    }
+
+    /**
+     * Counts {@code count} occurrences of the key.
+     *
+     * @param key   the key to count
+     * @param count the number of occurrences, not negative
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void add(@NotNull K key, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        totalCount += count;
+        offer(key, count, 0);
+    }
+
+    /**
+     * Returns the estimated count of the key.
+     *
+     * @param key the key to look up
+     * @return the estimated count if the key is tracked, otherwise 0
+     */
+    public long estimate(@NotNull K key) {
+        Integer slot = slotsByKey.get(key);
+        return slot == null ? 0 : counts[slot];
+    }
+
+    /**
+     * Returns up to {@code n} tracked keys with the highest counts, most frequent first.
+     *
+     * @param n the maximum number of keys to return
+     * @return the heavy hitters ordered by descending count
+     */
+    public @NotNull List<HeavyHitter<K>> top(int n) {
+        List<HeavyHitter<K>> hitters = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            hitters.add(hitter(slot));
+        }
+        hitters.sort(Comparator.comparingLong(HeavyHitter<K>::count).reversed());
+        return hitters.subList(0, Math.min(Math.max(n, 0), hitters.size()));
+    }
+
+    /**
+     * Merges another counter into this one, keeping the {@code capacity} keys with the highest combined counts.
+     * <p>
+     * A key missing from a full counter may still have been seen up to that counter's minimum count, so that minimum
+     * is added to both its count and its error, which keeps the estimates upper bounds.
+     * </p>
+     *
+     * @param other the counter to merge into this one
+     */
+    public void merge(@NotNull SpaceSavingCounter<? extends K> other) {
+        long thisMissing = size == capacity ? counts[heap[0]] : 0;
+        long otherMissing = other.size == other.capacity ? other.counts[other.heap[0]] : 0;
+
+        Map<K, long[]> combined = new HashMap<>((size + other.size) * 4 / 3 + 1);
+        for (int slot = 0; slot < size; slot++) {
+            combined.put(key(slot), new long[]{counts[slot] + otherMissing, errors[slot] + otherMissing});
+        }
+        for (int slot = 0; slot < other.size; slot++) {
+            K key = other.key(slot);
+            long[] entry = combined.get(key);
+            if (entry == null) {
+                combined.put(key, new long[]{other.counts[slot] + thisMissing, other.errors[slot] + thisMissing});
+            } else {
+                entry[0] += other.counts[slot] - otherMissing;
+                entry[1] += other.errors[slot] - otherMissing;
+            }
+        }
+
+        List<Map.Entry<K, long[]>> entries = new ArrayList<>(combined.entrySet());
+        entries.sort((left, right) -> Long.compare(right.getValue()[0], left.getValue()[0]));
+
+        long mergedTotal = totalCount + other.totalCount;
+        clear();
+        totalCount = mergedTotal;
+        for (int i = 0; i < Math.min(capacity, entries.size()); i++) {
+            Map.Entry<K, long[]> entry = entries.get(i);
+            offer(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+    }
+
+    /**
+     * Returns the sum of all counts added to the counter, including evicted keys.
+     *
+     * @return the total count
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the number of tracked keys.
+     *
+     * @return the number of keys, at most the capacity
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all keys and resets the total count.
+     */
+    public void clear() {
+        slotsByKey.clear();
+        Arrays.fill(keys, null);
+        size = 0;
+        totalCount = 0;
+    }
+
+    private void offer(@NotNull K key, long count, long error) {
+        Integer existing = slotsByKey.get(key);
+        if (existing != null) {
+            counts[existing] += count;
+            errors[existing] += error;
+            siftDown(heapPositions[existing]);
+            return;
+        }
+
+        if (size < capacity) {
+            int slot = size++;
+            keys[slot] = key;
+            counts[slot] = count;
+            errors[slot] = error;
+            slotsByKey.put(key, slot);
+            heap[slot] = slot;
+            heapPositions[slot] = slot;
+            siftUp(slot);
+            return;
+        }
+
+        // Replace the least frequent key, inheriting its count as the error bound
+        int slot = heap[0];
+        long minCount = counts[slot];
+        slotsByKey.remove(key(slot));
+        keys[slot] = key;
+        counts[slot] = minCount + count;
+        errors[slot] = minCount + error;
+        slotsByKey.put(key, slot);
+        siftDown(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int slot) {
+        return (K) keys[slot];
+    }
+
+    private @NotNull HeavyHitter<K> hitter(int slot) {
+        return new HeavyHitter<>(key(slot), counts[slot], errors[slot]);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[heap[position]]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && counts[heap[left]] < counts[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < size && counts[heap[right]] < counts[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int slot = heap[i];
+        heap[i] = heap[j];
+        heap[j] = slot;
+        heapPositions[heap[i]] = i;
+        heapPositions[heap[j]] = j;
+    }
+}
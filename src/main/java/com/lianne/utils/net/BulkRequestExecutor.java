@@ -0,0 +1,181 @@
+package com.lianne.utils.net;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Executor running batches of GET requests through a {@link RestClientRequestExecute} on virtual threads.
+ * <p>
+ * Calling {@link RestClientRequestExecute#executeGetMethod(String, Map, Map)} in a loop sends one request at a time.
+ * This class starts one virtual thread per request, so blocked requests do not hold platform threads, and bounds the
+ * parallelism with semaphores: at most {@code maxConcurrency} requests are in flight in total, and at most
+ * {@code maxConcurrencyPerHost} to the same host, so a batch does not overload a single server. A request first
+ * waits for its host permit and only then for a global one, so requests to a busy host never hold global permits
+ * that requests to other hosts could use.
+ * </p>
+ * <p>
+ * Results are returned in the order of the requests, each with its status code, body, latency and error. A failed
+ * request does not affect the others. For connection pooling and timeouts, pass a client created with
+ * {@link RestClientRequestExecute#RestClientRequestExecute(java.net.http.HttpClient, Duration)}. Requests are always
+ * sent to the server, even if the client has an {@link HttpResponseCache}, so every result carries a real status.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * BulkRequestExecutor executor = BulkRequestExecutor.builder()
+ *         .restClient(new RestClientRequestExecute(HttpClientRequestExecute.newHttpClient(Duration.ofSeconds(5)),
+ *                 Duration.ofSeconds(30)))
+ *         .maxConcurrencyPerHost(8)
+ *         .build();
+ *
+ * List&lt;GetRequest&gt; requests = urls.stream().map(GetRequest::of).toList();
+ * for (BulkRequestResult result : executor.executeGetMethods(requests)) {
+ *     if (!result.isSuccessful()) {
+ *         log.warn("{} failed after {}: {}", result.request().url(), result.latency(), result.error().getMessage());
+ *     }
+ * }
+ * </pre>
+ */
+@Getter
+@Builder
+public class BulkRequestExecutor {
+
+    /**
+     * Client executing the requests.
+     */
+    @Builder.Default
+    private final @NotNull RestClientRequestExecute restClient = new RestClientRequestExecute();
+
+    /**
+     * Maximum number of requests in flight in total.
+     */
+    @Builder.Default
+    private final int maxConcurrency = 256;
+
+    /**
+     * Maximum number of requests in flight to the same host.
+     */
+    @Builder.Default
+    private final int maxConcurrencyPerHost = 16;
+
+    /**
+     * Creates an executor; use {@link #builder()} for the defaults.
+     *
+     * @param restClient            the client executing the requests
+     * @param maxConcurrency        the maximum number of requests in flight in total, at least 1
+     * @param maxConcurrencyPerHost the maximum number of requests in flight to the same host, at least 1
+     * @throws IllegalArgumentException if a limit is below 1, which would block every request forever
+     */
+    BulkRequestExecutor(@NotNull RestClientRequestExecute restClient, int maxConcurrency, int maxConcurrencyPerHost) {
+        if (maxConcurrency < 1 || maxConcurrencyPerHost < 1) {
+            throw new IllegalArgumentException(
+                    "Concurrency limits must be at least 1: maxConcurrency=" + maxConcurrency
+                            + ", maxConcurrencyPerHost=" + maxConcurrencyPerHost
+            );
+        }
+        this.restClient = restClient;
+        this.maxConcurrency = maxConcurrency;
+        this.maxConcurrencyPerHost = maxConcurrencyPerHost;
+    }
+
+    /**
+     * Executes the GET requests concurrently and waits for all of them.
+     *
+     * @param requests the requests to execute
+     * @return one result per request, in the order of the requests
+     * @throws InterruptedException if the calling thread is interrupted while waiting; requests still running are
+     *                              interrupted
+     */
+    public @NotNull List<BulkRequestResult> executeGetMethods(
+            @NotNull List<GetRequest> requests
+    ) throws InterruptedException {
+        Semaphore globalPermits = new Semaphore(maxConcurrency);
+        Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BulkRequestResult>> futures = new ArrayList<>(requests.size());
+            for (GetRequest request : requests) {
+                futures.add(executor.submit(() -> execute(request, globalPermits, hostPermits)));
+            }
+
+            List<BulkRequestResult> results = new ArrayList<>(requests.size());
+            try {
+                for (Future<BulkRequestResult> future : futures) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                throw e;
+            } catch (ExecutionException e) {
+                // Requests catch their exceptions, so only errors end up here
+                executor.shutdownNow();
+                throw new IllegalStateException("Bulk request failed", e.getCause());
+            }
+            return results;
+        }
+    }
+
+    private @NotNull BulkRequestResult execute(
+            @NotNull GetRequest request,
+            @NotNull Semaphore globalPermits,
+            @NotNull Map<String, Semaphore> hostPermits
+    ) {
+        Semaphore permits;
+        try {
+            permits = hostPermits.computeIfAbsent(hostOf(request), host -> new Semaphore(maxConcurrencyPerHost));
+        } catch (RuntimeException e) {
+            return new BulkRequestResult(request, BulkRequestResult.NO_STATUS, null, Duration.ZERO, e);
+        }
+
+        try {
+            permits.acquire();
+            try {
+                globalPermits.acquire();
+                try {
+                    return send(request);
+                } finally {
+                    globalPermits.release();
+                }
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BulkRequestResult(request, BulkRequestResult.NO_STATUS, null, Duration.ZERO, e);
+        }
+    }
+
+    private @NotNull BulkRequestResult send(@NotNull GetRequest request) {
+        long start = System.nanoTime();
+        try {
+            var response = restClient.exchangeGetMethod(request.url(), request.headers(), request.params());
+            Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            return new BulkRequestResult(request, response.getStatusCode().value(), response.getBody(), latency, null);
+        } catch (RestClientResponseException e) {
+            Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            return new BulkRequestResult(
+                    request, e.getStatusCode().value(), e.getResponseBodyAsString(), latency, e
+            );
+        } catch (RuntimeException e) {
+            Duration latency = Duration.ofNanos(System.nanoTime() - start);
+            return new BulkRequestResult(request, BulkRequestResult.NO_STATUS, null, latency, e);
+        }
+    }
+
+    /**
+     * Returns the host name of the request URL, in lower case, used as the key of the per-host permits.
+     */
+    private static @NotNull String hostOf(@NotNull GetRequest request) {
+        String host = RestClientRequestExecute.buildUriComponents(request.url(), null).getHost();
+        return host == null ? "" : host.toLowerCase(Locale.ROOT);
+    }
+}
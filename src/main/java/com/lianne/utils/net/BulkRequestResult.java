@@ -0,0 +1,44 @@
+package com.lianne.utils.net;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one request executed by {@link BulkRequestExecutor}.
+ * <p>
+ * A response with an error status has its status code and body set together with the error. When no response was
+ * received (connection failure, timeout, invalid URL), the status code is {@value #NO_STATUS} and the body is
+ * {@code null}. A response that is neither successful nor an error, such as a redirect that was not followed,
+ * has no error but is not {@link #isSuccessful() successful} either.
+ * </p>
+ *
+ * @param request    the executed request
+ * @param statusCode the HTTP status code, or {@value #NO_STATUS} if no response was received
+ * @param body       the response body, or {@code null}
+ * @param latency    the time spent executing the request, excluding the wait for a concurrency permit
+ * @param error      the failure, or {@code null} if a response without an error status was received
+ */
+public record BulkRequestResult(
+        @NotNull GetRequest request,
+        int statusCode,
+        @Nullable String body,
+        @NotNull Duration latency,
+        @Nullable Exception error
+) {
+
+    /**
+     * Status code of a request that received no response.
+     */
+    public static final int NO_STATUS = -1;
+
+    /**
+     * Checks whether the request succeeded.
+     *
+     * @return {@code true} if a 2xx response was received
+     */
+    public boolean isSuccessful() {
+        return error == null && statusCode / 100 == 2;
+    }
+}
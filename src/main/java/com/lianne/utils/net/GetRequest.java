@@ -0,0 +1,30 @@
+package com.lianne.utils.net;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * One GET request of a batch executed by {@link BulkRequestExecutor}.
+ *
+ * @param url     the URL of the API or server to which the GET request is sent
+ * @param headers optional map of headers to include in the request
+ * @param params  optional map of parameters to be appended as query parameters in the URL
+ */
+public record GetRequest(
+        @NotNull String url,
+        @Nullable Map<String, String> headers,
+        @Nullable Map<String, String> params
+) {
+
+    /**
+     * Creates a request without headers and parameters.
+     *
+     * @param url the URL of the request
+     * @return the request
+     */
+    public static @NotNull GetRequest of(@NotNull String url) {
+        return new GetRequest(url, null, null);
+    }
+}
@@ -0,0 +1,223 @@
+package com.lianne.utils.net;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Utility class for executing HTTP requests using {@link HttpClient}.
+ * <p>
+ * This class offers the same GET requests as {@link RestClientRequestExecute}, built on the JDK HTTP client instead
+ * of a {@link org.springframework.web.client.RestTemplate} with the default request factory. One client is shared by
+ * all requests: it keeps connections alive and pools them, negotiates HTTP/2 where the server supports it, and
+ * applies a connect timeout and a per-request timeout.
+ * </p>
+ * <p>
+ * The asynchronous variants return a {@link CompletableFuture} right away and do not hold a thread while the request
+ * is in flight, so thousands of GET requests can be fanned out concurrently. Instances are thread-safe and meant to
+ * be shared.
+ * </p>
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * HttpClientRequestExecute client = new HttpClientRequestExecute(Duration.ofSeconds(5), Duration.ofSeconds(30));
+ * Map&lt;String, String&gt; headers = Map.of("Authorization", "Bearer token");
+ * String response = client.executeGetMethod("http://api.example.com", headers, null);
+ *
+ * List&lt;CompletableFuture&lt;String&gt;&gt; futures = urls.stream()
+ *         .map(url -&gt; client.executeGetMethodAsync(url, headers, null))
+ *         .toList();
+ * CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+ * </pre>
+ */
+public class HttpClientRequestExecute {
+
+    /**
+     * Default maximum time to establish a connection.
+     */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Default maximum time to wait for a response once the request is sent.
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    /**
+     * Default constructor using {@link #DEFAULT_CONNECT_TIMEOUT} and {@link #DEFAULT_REQUEST_TIMEOUT}.
+     */
+    public HttpClientRequestExecute() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Constructor creating a client with the given timeouts.
+     *
+     * @param connectTimeout The maximum time to establish a connection.
+     * @param requestTimeout The maximum time to wait for a response once the request is sent.
+     */
+    public HttpClientRequestExecute(@NotNull Duration connectTimeout, @NotNull Duration requestTimeout) {
+        this(newHttpClient(connectTimeout), requestTimeout);
+    }
+
+    /**
+     * Constructor to allow passing a custom {@link HttpClient}, e.g. with a proxy, an SSL context or an executor.
+     *
+     * @param httpClient     The {@link HttpClient} used to send the requests.
+     * @param requestTimeout The maximum time to wait for a response once the request is sent.
+     */
+    public HttpClientRequestExecute(@NotNull HttpClient httpClient, @NotNull Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Creates a {@link HttpClient} preferring HTTP/2, following redirects except from HTTPS to HTTP, with the given
+     * connect timeout.
+     *
+     * @param connectTimeout The maximum time to establish a connection.
+     * @return A new {@link HttpClient}.
+     */
+    public static @NotNull HttpClient newHttpClient(@NotNull Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    /**
+     * Returns the underlying {@link HttpClient}.
+     *
+     * @return The client used to send the requests.
+     */
+    public @NotNull HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Executes a GET HTTP request and waits for the response.
+     * <p>
+     * The URL is built with optional query parameters, the optional headers are added, and the request is sent.
+     * The response body is returned if the request is successful (HTTP 200 OK), otherwise null.
+     * </p>
+     *
+     * @param url        The URL of the API or server to which the GET request is sent.
+     * @param headersMap Optional map of headers to include in the request.
+     * @param paramsMap  Optional map of parameters to be appended as query parameters in the URL.
+     * @return The response body as a String if the response status is HTTP 200 OK, otherwise null.
+     * @throws UncheckedIOException if the request fails, times out or the calling thread is interrupted.
+     */
+    public @Nullable String executeGetMethod(
+            String url,
+            @Nullable Map<String, String> headersMap,
+            @Nullable Map<String, String> paramsMap
+    ) {
+        HttpRequest request = buildGetRequest(url, headersMap, paramsMap);
+        try {
+            return extractResponseBody(httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + request.uri() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted during GET " + request.uri());
+            interrupted.initCause(e);
+            throw new UncheckedIOException(interrupted);
+        }
+    }
+
+    /**
+     * Executes a GET HTTP request asynchronously.
+     * <p>
+     * Same as {@link #executeGetMethod(String, Map, Map)}, but returns immediately. The future completes with the
+     * response body for HTTP 200 OK, with null for any other status, or exceptionally if the request cannot be built,
+     * fails or times out.
+     * </p>
+     *
+     * @param url        The URL of the API or server to which the GET request is sent.
+     * @param headersMap Optional map of headers to include in the request.
+     * @param paramsMap  Optional map of parameters to be appended as query parameters in the URL.
+     * @return A future of the response body.
+     */
+    public @NotNull CompletableFuture<String> executeGetMethodAsync(
+            String url,
+            @Nullable Map<String, String> headersMap,
+            @Nullable Map<String, String> paramsMap
+    ) {
+        return sendGetRequestAsync(url, headersMap, paramsMap).thenApply(HttpClientRequestExecute::extractResponseBody);
+    }
+
+    /**
+     * Executes a GET HTTP request asynchronously and returns the whole response, for callers that need the status
+     * code or the response headers.
+     *
+     * @param url        The URL of the API or server to which the GET request is sent.
+     * @param headersMap Optional map of headers to include in the request.
+     * @param paramsMap  Optional map of parameters to be appended as query parameters in the URL.
+     * @return A future of the response with its body as a String; it completes exceptionally with an
+     * {@link IllegalArgumentException} if the URL is invalid or a header is restricted, e.g. {@code Host}.
+     */
+    public @NotNull CompletableFuture<HttpResponse<String>> sendGetRequestAsync(
+            String url,
+            @Nullable Map<String, String> headersMap,
+            @Nullable Map<String, String> paramsMap
+    ) {
+        HttpRequest request;
+        try {
+            request = buildGetRequest(url, headersMap, paramsMap);
+        } catch (IllegalArgumentException e) {
+            // Fail the future instead of the caller, so one bad URL does not abort a fan-out
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Builds a GET {@link HttpRequest} with optional query parameters and headers.
+     * <p>
+     * The URL is built as in {@link RestClientRequestExecute}, and the content type is set to "application/json".
+     * </p>
+     *
+     * @param url        The base URL of the request.
+     * @param headersMap Optional map of headers to be added to the request.
+     * @param paramsMap  Optional map of query parameters to include in the URL.
+     * @return The request, with the request timeout of this instance.
+     */
+    @NotNull HttpRequest buildGetRequest(
+            String url,
+            @Nullable Map<String, String> headersMap,
+            @Nullable Map<String, String> paramsMap
+    ) {
+        URI uri = RestClientRequestExecute.buildUriComponents(url, paramsMap).toUri();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .GET();
+        if (headersMap != null) {
+            headersMap.forEach(builder::header);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the response body if the status is HTTP 200 OK, otherwise null.
+     */
+    private static @Nullable String extractResponseBody(@NotNull HttpResponse<String> response) {
+        if (response.statusCode() == HttpURLConnection.HTTP_OK) {
+            return response.body();
+        }
+        return null;
+    }
+}
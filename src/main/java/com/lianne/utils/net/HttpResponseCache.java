@@ -0,0 +1,422 @@
+package com.lianne.utils.net;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponents;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded in-memory cache of GET response bodies for {@link RestClientRequestExecute}.
+ * <p>
+ * Responses are keyed by the built request URI together with the request headers, so requests with different
+ * credentials or content negotiation never share an entry. Only HTTP 200 OK responses are stored, and responses with
+ * {@code Cache-Control: no-store} or {@code private} are skipped, since the cache may be shared. The cache holds at
+ * most {@code maxEntries} responses and evicts the least recently used one when it is full.
+ * </p>
+ * <p>
+ * A cached response is served without a request for {@code timeToLive} after it was stored or last revalidated,
+ * or for its {@code Cache-Control: max-age} if that is shorter; {@code no-cache} responses are stored already stale,
+ * so every use revalidates them. After that it is stale: if it carried an {@code ETag} or {@code Last-Modified}
+ * header, the next request is sent with {@code If-None-Match} or {@code If-Modified-Since}, and a
+ * {@code 304 Not Modified} answer reuses the cached body and refreshes the entry, taking over the validators and
+ * {@code Cache-Control} of the 304 answer where it has them; any other answer replaces or drops it. Stale entries
+ * without validators are fetched again. Concurrent misses for the same key are not coalesced; each of them sends its
+ * own request.
+ * </p>
+ * <p>
+ * Hits, misses, revalidations and evictions are counted with {@link LongAdder}s. The cache is thread-safe and can be
+ * shared between clients. Only {@link RestClientRequestExecute#executeGetMethod(String, Map, Map)} goes through the
+ * cache; {@link BulkRequestExecutor} needs the status of every response and always sends its requests. Spring's
+ * {@code ConcurrentMapCache} from {@code spring-boot-starter-cache} was not used because it has neither a size bound
+ * nor expiry.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * HttpResponseCache cache = new HttpResponseCache(10_000, Duration.ofMinutes(5));
+ * RestClientRequestExecute restClient = new RestClientRequestExecute(new RestTemplate(), cache);
+ * String first = restClient.executeGetMethod("http://api.example.com/items", null, null);  // network
+ * String second = restClient.executeGetMethod("http://api.example.com/items", null, null); // from memory
+ * double hitRatio = cache.getHitRatio();
+ * </pre>
+ */
+public class HttpResponseCache {
+
+    /**
+     * Default maximum number of cached responses.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    /**
+     * Default time a cached response is served without revalidation.
+     */
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private final int maxEntries;
+    private final Duration timeToLive;
+    private final long timeToLiveNanos;
+
+    /**
+     * Entries in access order, so the eldest entry is the least recently used one. Guarded by itself.
+     */
+    private final LinkedHashMap<CacheKey, CachedResponse> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Default constructor using {@link #DEFAULT_MAX_ENTRIES} and {@link #DEFAULT_TIME_TO_LIVE}.
+     */
+    public HttpResponseCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries The maximum number of cached responses, at least 1.
+     * @param timeToLive The time a cached response is served without revalidation.
+     * @throws IllegalArgumentException if {@code maxEntries} is not positive or {@code timeToLive} is negative.
+     */
+    public HttpResponseCache(int maxEntries, @NotNull Duration timeToLive) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum number of entries must be positive: " + maxEntries);
+        }
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("Time to live must not be negative: " + timeToLive);
+        }
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.timeToLiveNanos = toNanos(timeToLive);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedResponse> eldest) {
+                if (size() > HttpResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the response body for the request from the cache, revalidating or fetching it when needed.
+     * <p>
+     * The fetcher receives the conditional headers to add to the request (empty unless a stale entry is revalidated)
+     * and sends the request.
+     * </p>
+     *
+     * @param uri        The built URI of the request.
+     * @param headersMap Optional map of headers included in the request; part of the cache key.
+     * @param fetcher    Sends the request with the given additional headers.
+     * @return The response body if the response status is HTTP 200 OK (or 304 for a cached body), otherwise null.
+     * @throws RestClientResponseException if the server answers with an error status; a stale entry for the request
+     *                                     is dropped first.
+     */
+    @Nullable String get(
+            @NotNull UriComponents uri,
+            @Nullable Map<String, String> headersMap,
+            @NotNull Function<Map<String, String>, ResponseEntity<String>> fetcher
+    ) {
+        CacheKey key = CacheKey.of(uri, headersMap);
+        long now = System.nanoTime();
+        CachedResponse cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+            if (cached != null && !cached.canRevalidate() && !cached.isFresh(now)) {
+                entries.remove(key);
+                cached = null;
+            }
+        }
+
+        if (cached != null && cached.isFresh(now)) {
+            hits.increment();
+            return cached.body();
+        }
+
+        ResponseEntity<String> response;
+        try {
+            response = fetcher.apply(cached == null ? Map.of() : cached.conditionalHeaders());
+        } catch (RestClientResponseException e) {
+            // The server answered with an error status, e.g. 404 after the resource was deleted
+            misses.increment();
+            if (cached != null) {
+                remove(key, cached);
+            }
+            throw e;
+        }
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            revalidations.increment();
+            store(key, cached.refreshed(response.getHeaders(), System.nanoTime(), timeToLiveNanos));
+            return cached.body();
+        }
+
+        misses.increment();
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.OK)) {
+            if (cached != null) {
+                remove(key, cached);
+            }
+            return null;
+        }
+        CachedResponse fetched = CachedResponse.of(response, System.nanoTime(), timeToLiveNanos);
+        if (fetched != null) {
+            store(key, fetched);
+        } else if (cached != null) {
+            remove(key, cached);
+        }
+        return response.getBody();
+    }
+
+    /**
+     * Returns the number of requests served from the cache without contacting the server.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests answered by the server with a full response or an error status.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of stale responses confirmed by a {@code 304 Not Modified} answer.
+     *
+     * @return The revalidation count.
+     */
+    public long getRevalidationCount() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Returns the number of responses evicted because the cache was full.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the share of requests answered without transferring a body: hits and revalidations over all requests.
+     *
+     * @return The hit ratio between 0 and 1, or 0 if there were no requests.
+     */
+    public double getHitRatio() {
+        long served = hits.sum() + revalidations.sum();
+        long total = served + misses.sum();
+        return total == 0 ? 0 : (double) served / total;
+    }
+
+    /**
+     * Returns the maximum number of cached responses.
+     *
+     * @return The size bound.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the time a cached response is served without revalidation.
+     *
+     * @return The time to live.
+     */
+    public @NotNull Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Returns the number of cached responses, including stale ones kept for revalidation.
+     *
+     * @return The current size.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all cached responses. The metrics are kept.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void store(@NotNull CacheKey key, @NotNull CachedResponse response) {
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+    }
+
+    /**
+     * Removes the entry only if it was not replaced in the meantime by a concurrent request.
+     */
+    private void remove(@NotNull CacheKey key, @NotNull CachedResponse expected) {
+        synchronized (entries) {
+            entries.remove(key, expected);
+        }
+    }
+
+    private static long toNanos(@NotNull Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Cache key: the request URI and the request headers, with header names in lower case.
+     */
+    private record CacheKey(String uri, Map<String, String> headers) {
+
+        static @NotNull CacheKey of(@NotNull UriComponents uri, @Nullable Map<String, String> headersMap) {
+            if (headersMap == null || headersMap.isEmpty()) {
+                return new CacheKey(uri.toUriString(), Map.of());
+            }
+            Map<String, String> headers = new TreeMap<>();
+            headersMap.forEach((name, value) -> headers.put(name.toLowerCase(Locale.ROOT), value));
+            return new CacheKey(uri.toUriString(), headers);
+        }
+    }
+
+    /**
+     * Cached body with its validators, the {@link System#nanoTime()} it was stored or last revalidated at and the
+     * time it stays fresh after that.
+     */
+    private record CachedResponse(
+            String body, @Nullable String eTag, @Nullable String lastModified, long storedAt, long freshNanos
+    ) {
+
+        /**
+         * Returns the entry for a 200 response, or {@code null} if the response must not be stored or could never be
+         * used because it is stale from the start and has no validators.
+         */
+        static @Nullable CachedResponse of(
+                @NotNull ResponseEntity<String> response, long now, long timeToLiveNanos
+        ) {
+            HttpHeaders headers = response.getHeaders();
+            CacheControl cacheControl = CacheControl.parse(headers.getCacheControl());
+            if (cacheControl.noStore()) {
+                return null;
+            }
+            CachedResponse cached = new CachedResponse(
+                    response.getBody(),
+                    headers.getETag(),
+                    headers.getFirst(HttpHeaders.LAST_MODIFIED),
+                    now,
+                    cacheControl.freshNanos(timeToLiveNanos)
+            );
+            return cached.freshNanos() > 0 || cached.canRevalidate() ? cached : null;
+        }
+
+        boolean isFresh(long now) {
+            return now - storedAt < freshNanos;
+        }
+
+        boolean canRevalidate() {
+            return eTag != null || lastModified != null;
+        }
+
+        @NotNull Map<String, String> conditionalHeaders() {
+            Map<String, String> headers = new HashMap<>();
+            if (eTag != null) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, eTag);
+            }
+            if (lastModified != null) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+            }
+            return headers;
+        }
+
+        /**
+         * Returns the entry confirmed by a 304 answer, taking over the validators and freshness the answer carries.
+         */
+        @NotNull CachedResponse refreshed(@NotNull HttpHeaders headers, long now, long timeToLiveNanos) {
+            String newETag = headers.getETag();
+            String newLastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+            String cacheControl = headers.getCacheControl();
+            return new CachedResponse(
+                    body,
+                    newETag != null ? newETag : eTag,
+                    newLastModified != null ? newLastModified : lastModified,
+                    now,
+                    cacheControl != null ? CacheControl.parse(cacheControl).freshNanos(timeToLiveNanos) : freshNanos
+            );
+        }
+    }
+
+    /**
+     * The {@code Cache-Control} directives of a response that affect this cache.
+     *
+     * @param maxAgeSeconds the {@code max-age} value, or -1 if absent or malformed
+     */
+    private record CacheControl(boolean noStore, boolean noCache, long maxAgeSeconds) {
+
+        static @NotNull CacheControl parse(@Nullable String header) {
+            boolean noStore = false;
+            boolean noCache = false;
+            long maxAgeSeconds = -1;
+            if (header != null) {
+                for (String directive : header.split(",")) {
+                    String[] parts = directive.trim().split("=", 2);
+                    switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+                        case "no-store", "private" -> noStore = true;
+                        case "no-cache" -> noCache = true;
+                        case "max-age" -> maxAgeSeconds = parts.length == 2 ? parseSeconds(parts[1]) : -1;
+                        default -> {
+                        }
+                    }
+                }
+            }
+            return new CacheControl(noStore, noCache, maxAgeSeconds);
+        }
+
+        /**
+         * Returns the time the response stays fresh: none for {@code no-cache}, otherwise the time to live capped
+         * by {@code max-age}.
+         */
+        long freshNanos(long timeToLiveNanos) {
+            if (noCache) {
+                return 0;
+            }
+            if (maxAgeSeconds < 0) {
+                return timeToLiveNanos;
+            }
+            return Math.min(timeToLiveNanos, toNanos(Duration.ofSeconds(maxAgeSeconds)));
+        }
+
+        private static long parseSeconds(@NotNull String value) {
+            String seconds = value.trim();
+            if (seconds.length() > 1 && seconds.startsWith("\"") && seconds.endsWith("\"")) {
+                seconds = seconds.substring(1, seconds.length() - 1);
+            }
+            try {
+                return Long.parseLong(seconds);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.lianne.utils.net;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import org.jetbrains.annotations.Nullable;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -35,12 +38,13 @@ import org.jetbrains.annotations.NotNull;
 public class RestClientRequestExecute {
 
     private final RestTemplate restTemplate;
+    private final @Nullable HttpResponseCache responseCache;
 
     /**
      * Default constructor initializing a {@link RestTemplate} instance.
      */
     public RestClientRequestExecute() {
-        this.restTemplate = new RestTemplate();
+        this(new RestTemplate());
     }
 
     /**
@@ -50,7 +54,40 @@ public class RestClientRequestExecute {
      * @param restTemplate The {@link RestTemplate} instance to be used for making requests.
      */
     public RestClientRequestExecute(RestTemplate restTemplate) {
+        this(restTemplate, null);
+    }
+
+    /**
+     * Constructor to allow passing a custom {@link RestTemplate} and a response cache.
+     * <p>
+     * With a cache, {@link #executeGetMethod(String, Map, Map)} serves repeated requests from memory and revalidates
+     * stale responses with conditional requests; see {@link HttpResponseCache}.
+     * </p>
+     *
+     * @param restTemplate  The {@link RestTemplate} instance to be used for making requests.
+     * @param responseCache Optional cache of GET responses, which may be shared between clients.
+     */
+    public RestClientRequestExecute(RestTemplate restTemplate, @Nullable HttpResponseCache responseCache) {
         this.restTemplate = restTemplate;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Constructor creating a {@link RestTemplate} on top of a {@link HttpClient}.
+     * <p>
+     * Unlike the default constructor, which opens a new connection per request, the {@link HttpClient} keeps
+     * connections alive and pools them, negotiates HTTP/2 and applies its connect timeout. A client created with
+     * {@link HttpClientRequestExecute#newHttpClient(Duration)} can be shared with a {@link HttpClientRequestExecute}.
+     * </p>
+     *
+     * @param httpClient  The {@link HttpClient} used to send the requests.
+     * @param readTimeout The maximum time to wait for a response.
+     */
+    public RestClientRequestExecute(@NotNull HttpClient httpClient, @NotNull Duration readTimeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.responseCache = null;
     }
 
     /**
@@ -58,7 +95,7 @@ public class RestClientRequestExecute {
      * <p>
      * This method constructs the URL with optional query parameters, adds any optional headers, and then sends
      * a GET request to the server. It returns the response body as a String if the request is successful (HTTP 200 OK),
-     * otherwise returns null.
+     * otherwise returns null. If a response cache is configured, the response may be served from it.
      * </p>
      *
      * @param url        The URL of the API or server to which the GET request is sent.
@@ -71,21 +108,53 @@ public class RestClientRequestExecute {
             @Nullable Map<String, String> headersMap,
             @Nullable Map<String, String> paramsMap)
     {
-        // Build UriComponents with or without parameters
         UriComponents uriComponents = buildUriComponents(url, paramsMap);
+        if (responseCache == null) {
+            return extractResponseBody(exchange(uriComponents, headersMap, Map.of()));
+        }
+        return responseCache.get(
+                uriComponents,
+                headersMap,
+                conditionalHeaders -> exchange(uriComponents, headersMap, conditionalHeaders)
+        );
+    }
 
+    /**
+     * Executes a GET HTTP request and returns the whole response.
+     * <p>
+     * Responses with an error status are thrown by the {@link RestTemplate} as
+     * {@link org.springframework.web.client.RestClientResponseException}.
+     * </p>
+     *
+     * @param url        The URL of the API or server to which the GET request is sent.
+     * @param headersMap Optional map of headers to include in the request.
+     * @param paramsMap  Optional map of parameters to be appended as query parameters in the URL.
+     * @return The {@link ResponseEntity} with the response body as a String.
+     */
+    @NotNull ResponseEntity<String> exchangeGetMethod(
+            String url,
+            @Nullable Map<String, String> headersMap,
+            @Nullable Map<String, String> paramsMap)
+    {
+        // Build UriComponents with or without parameters
+        return exchange(buildUriComponents(url, paramsMap), headersMap, Map.of());
+    }
+
+    private @NotNull ResponseEntity<String> exchange(
+            @NotNull UriComponents uriComponents,
+            @Nullable Map<String, String> headersMap,
+            @NotNull Map<String, String> extraHeaders
+    ) {
         // Prepare HttpHeaders if provided
-        HttpEntity<String> httpEntity = createHttpEntity(headersMap);
+        HttpEntity<String> httpEntity = createHttpEntity(headersMap, extraHeaders);
 
         // Execute GET request
-        ResponseEntity<String> response = restTemplate.exchange(
+        return restTemplate.exchange(
                 uriComponents.toUriString(),
                 HttpMethod.GET,
                 httpEntity,
                 String.class
         );
-
-        return extractResponseBody(response);
     }
 
     /**
@@ -99,7 +168,7 @@ public class RestClientRequestExecute {
      * @param params Optional map of query parameters to include in the URL.
      * @return A fully constructed {@link UriComponents} object, which represents the URL with the parameters.
      */
-    private @NotNull UriComponents buildUriComponents(
+    static @NotNull UriComponents buildUriComponents(
             String url,
             @Nullable Map<String, String> params
     ) {
@@ -121,17 +190,20 @@ public class RestClientRequestExecute {
      * to "application/json" by default.
      * </p>
      *
-     * @param headersMap Optional map of headers to be added to the request.
+     * @param headersMap   Optional map of headers to be added to the request.
+     * @param extraHeaders Headers set on top of the others, such as the conditional headers of a revalidation.
      * @return An {@link HttpEntity} containing the headers (or an empty entity if no headers are provided).
      */
     private @NotNull HttpEntity<String> createHttpEntity(
-            @Nullable Map<String, String> headersMap
+            @Nullable Map<String, String> headersMap,
+            @NotNull Map<String, String> extraHeaders
     ) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Content-Type", "application/json");
         if (headersMap != null) {
             headersMap.forEach(headers::add);
         }
+        extraHeaders.forEach(headers::set);
         return new HttpEntity<>(headers);
     }
 
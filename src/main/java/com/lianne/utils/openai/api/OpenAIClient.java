@@ -1,5 +1,6 @@
 package com.lianne.utils.openai.api;
 
+import com.lianne.utils.json.JsonCodec;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
@@ -7,8 +8,11 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
 /**
  * Client class for interacting with the OpenAI API.
  * <p>
@@ -20,6 +24,12 @@ import org.springframework.web.client.RestTemplate;
 @AllArgsConstructor
 public class OpenAIClient {
 
+    /**
+     * Codec shared by the clients built with {@link #create(String, String)}. The accelerated configuration binds the
+     * {@code @AllArgsConstructor} DTOs and ignores response fields they do not declare.
+     */
+    private static final JsonCodec codec = JsonCodec.create(true);
+
     /**
      * The API token used for authentication with the OpenAI API.
      */
@@ -36,6 +46,20 @@ public class OpenAIClient {
      */
     private final RestTemplate restTemplate;
 
+    /**
+     * Creates a client whose {@link RestTemplate} encodes and decodes the DTOs with a shared, accelerated
+     * {@link JsonCodec#create(boolean) JSON codec}, instead of building its own {@code ObjectMapper}.
+     *
+     * @param token The API token used for authentication with the OpenAI API.
+     * @param model The model to be used for chat completion requests.
+     * @return A new client.
+     */
+    public static OpenAIClient create(String token, String model) {
+        MappingJackson2HttpMessageConverter converter =
+                new MappingJackson2HttpMessageConverter(codec.getObjectMapper());
+        return new OpenAIClient(token, model, new RestTemplate(List.of(converter)));
+    }
+
     /**
      * Creates a chat completion by sending a request to the OpenAI API.
      * <p>
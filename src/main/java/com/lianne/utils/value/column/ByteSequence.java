@@ -0,0 +1,51 @@
+package com.lianne.utils.value.column;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable {@link CharSequence} view of a byte range of a buffer, one byte per character (ISO-8859-1).
+ * <p>
+ * Lets {@link com.lianne.utils.value.string.NumberParser} read fields of a byte buffer in place. Only absolute
+ * reads are used, so several views may share one buffer across threads.
+ * </p>
+ */
+final class ByteSequence implements CharSequence {
+
+    private final ByteBuffer buffer;
+    private int start;
+    private int length;
+
+    ByteSequence(@NotNull ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    void set(int start, int end) {
+        this.start = start;
+        this.length = end - start;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public @NotNull CharSequence subSequence(int from, int to) {
+        return toString().substring(from, to);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
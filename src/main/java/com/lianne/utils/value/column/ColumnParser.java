@@ -0,0 +1,308 @@
+package com.lianne.utils.value.column;
+
+import com.lianne.utils.value.string.NumberParser;
+import com.lianne.utils.value.string.ParsedNumber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Utility class for parsing whole columns of text values into primitive arrays.
+ * <p>
+ * Converting values one by one with {@link com.lianne.utils.value.string.StringToNumberUtils} boxes every result.
+ * The methods of this class parse a column with {@link NumberParser} straight into an {@code int[]}, {@code long[]}
+ * or {@code double[]}, and record which entries were {@code null} or invalid in a {@link ValidityBitmap} instead of
+ * using a sentinel value. Invalid entries are left at 0.
+ * </p>
+ * <p>
+ * String columns accept exactly what the per-value methods of
+ * {@link com.lianne.utils.value.string.StringToNumberUtils} accept: {@code parseDoubles} skips characters up to
+ * {@code ' '} around a value, the same as {@code String.trim()} and {@code safeParseDouble}, while {@code parseInts}
+ * and {@code parseLongs} do not, so {@code " 5"} is invalid there as it is for {@code safeParseInt}. The whitespace is
+ * skipped by index, without copying the value; empty and blank values are invalid.
+ * </p>
+ * <p>
+ * A column is processed in chunks of {@value #CHUNK_SIZE} entries. The chunk size is a multiple of 64, so every chunk
+ * writes its own words of the bitmap, and with {@code parallel} set the chunks are parsed on the common
+ * {@link java.util.concurrent.ForkJoinPool}.
+ * </p>
+ * <p>
+ * Byte buffer columns hold ASCII values separated by a delimiter byte, e.g. one value per line. A delimiter at the
+ * end of the buffer does not start another value. Whitespace around a value, including the {@code \r} of CRLF line
+ * endings, is skipped for every value type.
+ * The values between the buffer's position and limit are parsed, and the buffer's position is not changed.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * IntColumn ages = ColumnParser.parseInts(csvColumn, true);
+ * for (int i = 0; i &lt; ages.size(); i++) {
+ *     if (ages.validity().isValid(i)) {
+ *         total += ages.values()[i];
+ *     }
+ * }
+ *
+ * ByteBuffer prices = ByteBuffer.wrap(Files.readAllBytes(Path.of("prices.txt")));
+ * DoubleColumn column = ColumnParser.parseDoubles(prices, (byte) '\n', true);
+ * </pre>
+ */
+public class ColumnParser {
+
+    /**
+     * Number of entries parsed by one task; a multiple of 64 so that chunks never share a bitmap word.
+     */
+    static final int CHUNK_SIZE = 64 * 256;
+
+    /**
+     * Parses a column of strings into {@code int} values.
+     *
+     * @param values   the values; {@code null} elements are invalid
+     * @param parallel whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull IntColumn parseInts(@NotNull List<? extends CharSequence> values, boolean parallel) {
+        return parseInts(values.size(), fields(values), false, parallel);
+    }
+
+    /**
+     * Parses a column of strings into {@code int} values.
+     *
+     * @param values   the values; {@code null} elements are invalid
+     * @param parallel whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull IntColumn parseInts(@Nullable CharSequence @NotNull [] values, boolean parallel) {
+        return parseInts(values.length, () -> index -> values[index], false, parallel);
+    }
+
+    /**
+     * Parses a delimited byte buffer column into {@code int} values.
+     *
+     * @param buffer    the buffer holding the values
+     * @param delimiter the byte separating the values
+     * @param parallel  whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull IntColumn parseInts(@NotNull ByteBuffer buffer, byte delimiter, boolean parallel) {
+        int[] ends = fieldEnds(buffer, delimiter);
+        return parseInts(ends.length, fields(buffer, ends), true, parallel);
+    }
+
+    /**
+     * Parses a column of strings into {@code long} values.
+     *
+     * @param values   the values; {@code null} elements are invalid
+     * @param parallel whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull LongColumn parseLongs(@NotNull List<? extends CharSequence> values, boolean parallel) {
+        return parseLongs(values.size(), fields(values), false, parallel);
+    }
+
+    /**
+     * Parses a column of strings into {@code long} values.
+     *
+     * @param values   the values; {@code null} elements are invalid
+     * @param parallel whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull LongColumn parseLongs(@Nullable CharSequence @NotNull [] values, boolean parallel) {
+        return parseLongs(values.length, () -> index -> values[index], false, parallel);
+    }
+
+    /**
+     * Parses a delimited byte buffer column into {@code long} values.
+     *
+     * @param buffer    the buffer holding the values
+     * @param delimiter the byte separating the values
+     * @param parallel  whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull LongColumn parseLongs(@NotNull ByteBuffer buffer, byte delimiter, boolean parallel) {
+        int[] ends = fieldEnds(buffer, delimiter);
+        return parseLongs(ends.length, fields(buffer, ends), true, parallel);
+    }
+
+    /**
+     * Parses a column of strings into {@code double} values.
+     *
+     * @param values   the values; {@code null} elements are invalid
+     * @param parallel whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull DoubleColumn parseDoubles(@NotNull List<? extends CharSequence> values, boolean parallel) {
+        return parseDoubles(values.size(), fields(values), parallel);
+    }
+
+    /**
+     * Parses a column of strings into {@code double} values.
+     *
+     * @param values   the values; {@code null} elements are invalid
+     * @param parallel whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull DoubleColumn parseDoubles(@Nullable CharSequence @NotNull [] values, boolean parallel) {
+        return parseDoubles(values.length, () -> index -> values[index], parallel);
+    }
+
+    /**
+     * Parses a delimited byte buffer column into {@code double} values.
+     *
+     * @param buffer    the buffer holding the values
+     * @param delimiter the byte separating the values
+     * @param parallel  whether to parse chunks on several threads
+     * @return the parsed column
+     */
+    public static @NotNull DoubleColumn parseDoubles(@NotNull ByteBuffer buffer, byte delimiter, boolean parallel) {
+        int[] ends = fieldEnds(buffer, delimiter);
+        return parseDoubles(ends.length, fields(buffer, ends), parallel);
+    }
+
+    private static @NotNull IntColumn parseInts(
+            int size, @NotNull Supplier<Fields> fields, boolean trim, boolean parallel
+    ) {
+        int[] values = new int[size];
+        ValidityBitmap validity = new ValidityBitmap(size);
+        forEachChunk(size, trim, parallel, fields, (index, field, from, to, number) -> {
+            if (NumberParser.parseInt(field, from, to, number)) {
+                values[index] = number.intValue();
+                validity.setValid(index);
+            }
+        });
+        return new IntColumn(values, validity);
+    }
+
+    private static @NotNull LongColumn parseLongs(
+            int size, @NotNull Supplier<Fields> fields, boolean trim, boolean parallel
+    ) {
+        long[] values = new long[size];
+        ValidityBitmap validity = new ValidityBitmap(size);
+        forEachChunk(size, trim, parallel, fields, (index, field, from, to, number) -> {
+            if (NumberParser.parseLong(field, from, to, number)) {
+                values[index] = number.longValue();
+                validity.setValid(index);
+            }
+        });
+        return new LongColumn(values, validity);
+    }
+
+    private static @NotNull DoubleColumn parseDoubles(int size, @NotNull Supplier<Fields> fields, boolean parallel) {
+        double[] values = new double[size];
+        ValidityBitmap validity = new ValidityBitmap(size);
+        forEachChunk(size, true, parallel, fields, (index, field, from, to, number) -> {
+            if (NumberParser.parseDouble(field, from, to, number)) {
+                values[index] = number.doubleValue();
+                validity.setValid(index);
+            }
+        });
+        return new DoubleColumn(values, validity);
+    }
+
+    /**
+     * Runs the parser over every non-null field, one chunk at a time, with a field accessor and a result holder per
+     * chunk. With {@code trim} set, surrounding whitespace is skipped by passing the trimmed range instead of
+     * copying the field.
+     */
+    private static void forEachChunk(
+            int size,
+            boolean trim,
+            boolean parallel,
+            @NotNull Supplier<Fields> fieldsFactory,
+            @NotNull FieldParser parser
+    ) {
+        IntStream chunks = IntStream.range(0, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        (parallel ? chunks.parallel() : chunks).forEach(chunk -> {
+            Fields fields = fieldsFactory.get();
+            ParsedNumber number = new ParsedNumber();
+            int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+            for (int index = chunk * CHUNK_SIZE; index < end; index++) {
+                CharSequence field = fields.get(index);
+                if (field == null) {
+                    continue;
+                }
+                int from = 0;
+                int to = field.length();
+                if (trim) {
+                    while (from < to && field.charAt(from) <= ' ') {
+                        from++;
+                    }
+                    while (to > from && field.charAt(to - 1) <= ' ') {
+                        to--;
+                    }
+                }
+                parser.parse(index, field, from, to, number);
+            }
+        });
+    }
+
+    private static @NotNull Supplier<Fields> fields(@NotNull List<? extends CharSequence> values) {
+        if (values instanceof RandomAccess) {
+            return () -> values::get;
+        }
+        CharSequence[] array = values.toArray(new CharSequence[0]);
+        return () -> index -> array[index];
+    }
+
+    /**
+     * Returns accessors that expose each field through a reusable view.
+     */
+    private static @NotNull Supplier<Fields> fields(@NotNull ByteBuffer buffer, int @NotNull [] ends) {
+        int position = buffer.position();
+        return () -> {
+            ByteSequence sequence = new ByteSequence(buffer);
+            return index -> {
+                sequence.set(index == 0 ? position : ends[index - 1] + 1, ends[index]);
+                return sequence;
+            };
+        };
+    }
+
+    /**
+     * Returns the end offset (the delimiter position, or the limit for the last field) of every field.
+     */
+    private static int @NotNull [] fieldEnds(@NotNull ByteBuffer buffer, byte delimiter) {
+        int position = buffer.position();
+        int limit = buffer.limit();
+        int count = 0;
+        for (int i = position; i < limit; i++) {
+            if (buffer.get(i) == delimiter) {
+                count++;
+            }
+        }
+        boolean unterminated = limit > position && buffer.get(limit - 1) != delimiter;
+        int[] ends = new int[unterminated ? count + 1 : count];
+        int field = 0;
+        for (int i = position; i < limit; i++) {
+            if (buffer.get(i) == delimiter) {
+                ends[field++] = i;
+            }
+        }
+        if (unterminated) {
+            ends[field] = limit;
+        }
+        return ends;
+    }
+
+    /**
+     * Random access to the fields of a column.
+     */
+    @FunctionalInterface
+    private interface Fields {
+
+        @Nullable CharSequence get(int index);
+    }
+
+    /**
+     * Parses the range {@code [from, to)} of one field and stores the result at its index.
+     */
+    @FunctionalInterface
+    private interface FieldParser {
+
+        void parse(int index, @NotNull CharSequence field, int from, int to, @NotNull ParsedNumber number);
+    }
+}
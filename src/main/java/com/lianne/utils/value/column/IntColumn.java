@@ -0,0 +1,19 @@
+package com.lianne.utils.value.column;
+
+/**
+ * Column of {@code int} values parsed by {@link ColumnParser}.
+ *
+ * @param values   the parsed values, 0 where the entry is invalid
+ * @param validity the entries that hold a parsed value
+ */
+public record IntColumn(int[] values, ValidityBitmap validity) {
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the column size
+     */
+    public int size() {
+        return values.length;
+    }
+}
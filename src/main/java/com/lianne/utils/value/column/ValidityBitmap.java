@@ -0,0 +1,90 @@
+package com.lianne.utils.value.column;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Fixed-size bitmap marking which entries of a parsed column hold a value.
+ * <p>
+ * Bit {@code i} is set when entry {@code i} was parsed successfully and cleared when the input was {@code null} or
+ * invalid. Unlike {@link BitSet} the word array never grows, so {@link ColumnParser} can fill disjoint 64-entry
+ * aligned chunks from several threads without synchronization.
+ * </p>
+ */
+public class ValidityBitmap {
+
+    private final long[] words;
+    private final int size;
+
+    /**
+     * Creates a bitmap of {@code size} entries, all invalid.
+     *
+     * @param size the number of entries
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public ValidityBitmap(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+        this.words = new long[(size + 63) >>> 6];
+        this.size = size;
+    }
+
+    /**
+     * Checks whether the entry holds a parsed value.
+     *
+     * @param index the index of the entry
+     * @return {@code true} if the entry is valid
+     * @throws IndexOutOfBoundsException if the index is outside the bitmap
+     */
+    public boolean isValid(int index) {
+        Objects.checkIndex(index, size);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the size of the bitmap
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of valid entries.
+     *
+     * @return the number of set bits
+     */
+    public int validCount() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of entries that were {@code null} or could not be parsed.
+     *
+     * @return the number of cleared bits
+     */
+    public int invalidCount() {
+        return size - validCount();
+    }
+
+    /**
+     * Copies the bitmap into a {@link BitSet}.
+     *
+     * @return a new bit set with the valid entries set
+     */
+    public @NotNull BitSet toBitSet() {
+        return BitSet.valueOf(words);
+    }
+
+    void setValid(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+}
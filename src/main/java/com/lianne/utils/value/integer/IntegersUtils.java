@@ -1,10 +1,32 @@
 package com.lianne.utils.value.integer;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 /**
  * Utility class providing methods for working with integer values.
  * <p>
  * This class contains utility methods that perform checks and operations related to integer values.
  * </p>
+ * <p>
+ * The array methods check many values against one divisor. They precompute a {@link FastDivisor}, so each element
+ * costs a multiplication instead of a division, and write into caller-provided arrays, so the loops allocate nothing
+ * per element.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * int[] ids = ...;
+ * int[] sample = new int[ids.length];
+ * int sampleSize = IntegersUtils.filterMultiples(ids, 100, sample); // every id divisible by 100
+ *
+ * int[] grouped = new int[ids.length];
+ * int[] shardStarts = new int[8 + 1];
+ * IntegersUtils.partitionByModulus(ids, 8, grouped, shardStarts);
+ * // ids of shard k are grouped[shardStarts[k]] .. grouped[shardStarts[k + 1] - 1]
+ * </pre>
  */
 public class IntegersUtils {
 
@@ -28,4 +50,109 @@ public class IntegersUtils {
             return false;
         }
     }
+
+    /**
+     * Counts the values that are multiples of the divisor.
+     *
+     * @param values The values to check.
+     * @param divisor The divisor. If it is not positive, no value is considered a multiple.
+     * @return The number of values divisible by the divisor.
+     */
+    public static int countMultiples(int @NotNull [] values, int divisor) {
+        if (divisor <= 0) {
+            return 0;
+        }
+        FastDivisor fastDivisor = new FastDivisor(divisor);
+        int count = 0;
+        for (int value : values) {
+            if (fastDivisor.isMultiple(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copies the values that are multiples of the divisor into {@code out}, keeping their order.
+     *
+     * @param values The values to filter.
+     * @param divisor The divisor. If it is not positive, no value is considered a multiple.
+     * @param out The array receiving the multiples from index 0; it must be able to hold every matching value.
+     * @return The number of values written to {@code out}.
+     * @throws ArrayIndexOutOfBoundsException if {@code out} is too small.
+     */
+    public static int filterMultiples(int @NotNull [] values, int divisor, int @NotNull [] out) {
+        if (divisor <= 0) {
+            return 0;
+        }
+        FastDivisor fastDivisor = new FastDivisor(divisor);
+        int count = 0;
+        for (int value : values) {
+            if (fastDivisor.isMultiple(value)) {
+                out[count++] = value;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Filters a stream down to the multiples of the divisor.
+     *
+     * @param values The stream to filter.
+     * @param divisor The divisor. If it is not positive, the resulting stream is empty.
+     * @return A stream of the values divisible by the divisor.
+     */
+    public static @NotNull IntStream filterMultiples(@NotNull IntStream values, int divisor) {
+        if (divisor <= 0) {
+            return values.filter(value -> false);
+        }
+        FastDivisor fastDivisor = new FastDivisor(divisor);
+        return values.filter(fastDivisor::isMultiple);
+    }
+
+    /**
+     * Groups the values by their remainder modulo {@code modulus} (a stable counting sort on
+     * {@link Math#floorMod(int, int)}).
+     * <p>
+     * After the call, the values with remainder {@code k} are stored in {@code out} from index
+     * {@code bucketStarts[k]} (inclusive) to {@code bucketStarts[k + 1]} (exclusive), in their original order.
+     * </p>
+     *
+     * @param values The values to partition.
+     * @param modulus The modulus, a positive integer.
+     * @param out The array receiving the grouped values; at least as long as {@code values}.
+     * @param bucketStarts The array receiving the bucket boundaries; at least {@code modulus + 1} long.
+     * @throws IllegalArgumentException if the modulus is not positive or an output array is too small.
+     */
+    public static void partitionByModulus(
+            int @NotNull [] values, int modulus, int @NotNull [] out, int @NotNull [] bucketStarts
+    ) {
+        if (modulus <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive: " + modulus);
+        }
+        if (out.length < values.length || bucketStarts.length <= modulus) {
+            throw new IllegalArgumentException(
+                    "Output arrays too small: out=" + out.length + " (need " + values.length + "), bucketStarts="
+                            + bucketStarts.length + " (need " + (modulus + 1) + ")"
+            );
+        }
+        FastDivisor fastDivisor = new FastDivisor(modulus);
+
+        // Count each remainder one slot ahead, then turn the counts into start offsets
+        Arrays.fill(bucketStarts, 0, modulus + 1, 0);
+        for (int value : values) {
+            bucketStarts[fastDivisor.floorMod(value) + 1]++;
+        }
+        for (int k = 1; k <= modulus; k++) {
+            bucketStarts[k] += bucketStarts[k - 1];
+        }
+
+        // Place the values using the start offsets as write cursors; afterwards each cursor points at the start of
+        // the next bucket, so shifting the array by one slot restores the start offsets
+        for (int value : values) {
+            out[bucketStarts[fastDivisor.floorMod(value)]++] = value;
+        }
+        System.arraycopy(bucketStarts, 0, bucketStarts, 1, modulus);
+        bucketStarts[0] = 0;
+    }
 }
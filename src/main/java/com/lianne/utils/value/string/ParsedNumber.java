@@ -0,0 +1,76 @@
+package com.lianne.utils.value.string;
+
+/**
+ * Reusable result holder for {@link NumberParser}.
+ * <p>
+ * The parser reports success through its boolean return value and {@link #isValid()}, and stores the value as a
+ * primitive, so parsing millions of values with one holder allocates nothing. After a failed parse the previous
+ * value is left unchanged. A holder is not thread-safe; use one per thread.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * ParsedNumber number = new ParsedNumber();
+ * for (String cell : cells) {
+ *     if (NumberParser.parseLong(cell, number)) {
+ *         sum += number.longValue();
+ *     }
+ * }
+ * </pre>
+ */
+public class ParsedNumber {
+
+    private boolean valid;
+    private long longValue;
+    private double doubleValue;
+
+    /**
+     * Returns whether the last parse succeeded.
+     *
+     * @return {@code true} if the last parsed text was a valid number
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns the value of the last successful {@code parseInt}, narrowed to an {@code int}.
+     *
+     * @return the parsed integer
+     */
+    public int intValue() {
+        return (int) longValue;
+    }
+
+    /**
+     * Returns the value of the last successful {@code parseInt} or {@code parseLong}.
+     *
+     * @return the parsed integer
+     */
+    public long longValue() {
+        return longValue;
+    }
+
+    /**
+     * Returns the value of the last successful {@code parseDouble}.
+     *
+     * @return the parsed floating-point number
+     */
+    public double doubleValue() {
+        return doubleValue;
+    }
+
+    boolean setLong(long value) {
+        longValue = value;
+        return valid = true;
+    }
+
+    boolean setDouble(double value) {
+        doubleValue = value;
+        return valid = true;
+    }
+
+    boolean setInvalid() {
+        return valid = false;
+    }
+}
@@ -1,13 +1,46 @@
 package com.lianne.utils.value.string;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
 /**
  * Utility class providing methods for string-related checks.
  * <p>
- * This class contains utility methods for checking the properties of string values.
+ * This class contains utility methods for checking the properties of string values, and bulk classifiers
+ * ({@code isBlank}, {@code isAsciiOnly}, {@code isAllDigits}, {@code containsAny}) for {@link String},
+ * {@code byte[]} and {@link ByteBuffer} input.
  * </p>
+ * <p>
+ * The byte classifiers read eight bytes at a time as a {@code long} and test all of them with a few arithmetic
+ * operations (SWAR, SIMD within a register), falling back to a byte loop only for the tail. This gives most of the
+ * benefit of vector instructions without depending on the incubating Vector API, which would require
+ * {@code --add-modules jdk.incubator.vector} at compile time and at run time. Buffers are read with absolute
+ * accessors between position and limit, so their position is not changed. Bytes are classified as ASCII; bytes from
+ * 0x80 upwards are never whitespace or digits.
+ * </p>
+ *
+ * <h4>Usage Example:</h4>
+ * <pre>
+ * byte[] field = ...;
+ * if (StringChecksUtils.isAllDigits(field)) {
+ *     ...
+ * }
+ * boolean needsQuoting = StringChecksUtils.containsAny(field, (byte) ',', (byte) '"', (byte) '\n');
+ * </pre>
  */
 public class StringChecksUtils {
 
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long SPACES = 0x2020202020202020L;
+
+    /**
+     * Above this set size {@code containsAny} uses a lookup table instead of one word comparison per set member.
+     */
+    private static final int MAX_SWAR_SET_SIZE = 4;
+
     /**
      * Utility method that checks if a provided String is either {@code null} or an empty string.
      * <p>
@@ -22,4 +55,262 @@ public class StringChecksUtils {
     public static boolean isNullOrEmptyString(String stringValue) {
         return stringValue == null || stringValue.isEmpty();
     }
+
+    /**
+     * Checks whether a string is {@code null}, empty, or contains only whitespace as defined by
+     * {@link Character#isWhitespace(int)}.
+     *
+     * @param stringValue The string to be checked. Can be {@code null}.
+     * @return {@code true} if the string has no non-whitespace character.
+     */
+    public static boolean isBlank(@Nullable String stringValue) {
+        return stringValue == null || stringValue.isBlank();
+    }
+
+    /**
+     * Checks whether a byte array is empty or contains only ASCII whitespace (the bytes for which
+     * {@link Character#isWhitespace(int)} is {@code true}: tab, line feed, vertical tab, form feed, carriage return,
+     * the file, group, record and unit separators, and space).
+     *
+     * @param bytes The bytes to be checked.
+     * @return {@code true} if no byte is a non-whitespace character.
+     */
+    public static boolean isBlank(byte @NotNull [] bytes) {
+        return isBlank(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Checks whether the remaining bytes of a buffer contain only ASCII whitespace.
+     *
+     * @param buffer The buffer to be checked between its position and limit.
+     * @return {@code true} if no remaining byte is a non-whitespace character.
+     * @see #isBlank(byte[])
+     */
+    public static boolean isBlank(@NotNull ByteBuffer buffer) {
+        int i = buffer.position();
+        int limit = buffer.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            if (word == SPACES) {
+                continue;
+            }
+            // Any byte above 0x20 sets its high bit when 0x5F is added; bytes from 0x80 have it already
+            if ((((word + 0x5F * ONES) | word) & HIGH_BITS) != 0) {
+                return false;
+            }
+            // All bytes are at most 0x20, so adding 0x80 - n sets the high bit of exactly the bytes from n,
+            // without carries between bytes: rule out the bytes below 0x09 and from 0x0E to 0x1B
+            long atLeastTab = word + 0x77 * ONES;
+            long atLeastShiftOut = word + 0x72 * ONES;
+            long atLeastFileSeparator = word + 0x64 * ONES;
+            if (((~atLeastTab | (atLeastShiftOut & ~atLeastFileSeparator)) & HIGH_BITS) != 0) {
+                return false;
+            }
+        }
+        for (; i < limit; i++) {
+            if (!isWhitespace(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string contains only ASCII characters (below 0x80).
+     *
+     * @param stringValue The string to be checked.
+     * @return {@code true} if every character is ASCII, including for an empty string.
+     */
+    public static boolean isAsciiOnly(@NotNull String stringValue) {
+        int length = stringValue.length();
+        for (int i = 0; i < length; i++) {
+            if (stringValue.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a byte array contains only ASCII bytes (below 0x80).
+     *
+     * @param bytes The bytes to be checked.
+     * @return {@code true} if every byte is ASCII, including for an empty array.
+     */
+    public static boolean isAsciiOnly(byte @NotNull [] bytes) {
+        return isAsciiOnly(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Checks whether the remaining bytes of a buffer are all ASCII (below 0x80).
+     *
+     * @param buffer The buffer to be checked between its position and limit.
+     * @return {@code true} if every remaining byte is ASCII, including when none remain.
+     */
+    public static boolean isAsciiOnly(@NotNull ByteBuffer buffer) {
+        int i = buffer.position();
+        int limit = buffer.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            if ((buffer.getLong(i) & HIGH_BITS) != 0) {
+                return false;
+            }
+        }
+        for (; i < limit; i++) {
+            if (buffer.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string is non-empty and consists only of the ASCII digits {@code 0-9}.
+     *
+     * @param stringValue The string to be checked.
+     * @return {@code true} if the string is a non-empty sequence of ASCII digits.
+     */
+    public static boolean isAllDigits(@NotNull String stringValue) {
+        int length = stringValue.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = stringValue.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a byte array is non-empty and consists only of the ASCII digits {@code 0-9}.
+     *
+     * @param bytes The bytes to be checked.
+     * @return {@code true} if the array is a non-empty sequence of ASCII digits.
+     */
+    public static boolean isAllDigits(byte @NotNull [] bytes) {
+        return isAllDigits(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Checks whether the remaining bytes of a buffer are a non-empty sequence of the ASCII digits {@code 0-9}.
+     *
+     * @param buffer The buffer to be checked between its position and limit.
+     * @return {@code true} if the remaining bytes are a non-empty sequence of ASCII digits.
+     */
+    public static boolean isAllDigits(@NotNull ByteBuffer buffer) {
+        int i = buffer.position();
+        int limit = buffer.limit();
+        if (i == limit) {
+            return false;
+        }
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long word = buffer.getLong(i);
+            // Adding 0x46 sets the high bit of bytes above '9', subtracting 0x30 sets it for bytes below '0'.
+            // A borrow or carry can only start at a byte that is already invalid.
+            if ((((word + 0x46 * ONES) | (word - 0x30 * ONES) | word) & HIGH_BITS) != 0) {
+                return false;
+            }
+        }
+        for (; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string contains any character of the byte set, comparing characters below 0x100 with the
+     * set bytes as ISO-8859-1.
+     *
+     * @param stringValue The string to be checked.
+     * @param set         The bytes to look for.
+     * @return {@code true} if at least one character is in the set.
+     */
+    public static boolean containsAny(@NotNull String stringValue, byte @NotNull ... set) {
+        boolean[] table = toTable(set);
+        int length = stringValue.length();
+        for (int i = 0; i < length; i++) {
+            char c = stringValue.charAt(i);
+            if (c < table.length && table[c]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a byte array contains any byte of the set.
+     *
+     * @param bytes The bytes to be checked.
+     * @param set   The bytes to look for.
+     * @return {@code true} if at least one byte is in the set.
+     */
+    public static boolean containsAny(byte @NotNull [] bytes, byte @NotNull ... set) {
+        return containsAny(ByteBuffer.wrap(bytes), set);
+    }
+
+    /**
+     * Checks whether the remaining bytes of a buffer contain any byte of the set.
+     * <p>
+     * Small sets (up to {@value #MAX_SWAR_SET_SIZE} bytes) are matched eight bytes at a time; larger sets use a
+     * lookup table.
+     * </p>
+     *
+     * @param buffer The buffer to be checked between its position and limit.
+     * @param set    The bytes to look for.
+     * @return {@code true} if at least one remaining byte is in the set.
+     */
+    public static boolean containsAny(@NotNull ByteBuffer buffer, byte @NotNull ... set) {
+        int i = buffer.position();
+        int limit = buffer.limit();
+        if (set.length == 0) {
+            return false;
+        }
+
+        if (set.length <= MAX_SWAR_SET_SIZE) {
+            long[] patterns = new long[set.length];
+            for (int k = 0; k < set.length; k++) {
+                patterns[k] = (set[k] & 0xFFL) * ONES;
+            }
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                long word = buffer.getLong(i);
+                for (long pattern : patterns) {
+                    if (hasZeroByte(word ^ pattern)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        boolean[] table = toTable(set);
+        for (; i < limit; i++) {
+            if (table[buffer.get(i) & 0xFF]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether any byte of the word is zero.
+     */
+    private static boolean hasZeroByte(long word) {
+        return ((word - ONES) & ~word & HIGH_BITS) != 0;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+    }
+
+    private static boolean @NotNull [] toTable(byte @NotNull [] set) {
+        boolean[] table = new boolean[256];
+        for (byte b : set) {
+            table[b & 0xFF] = true;
+        }
+        return table;
+    }
 }
@@ -8,6 +8,11 @@ import java.util.Optional;
  * This class provides utility methods for converting strings to {@code Integer} or {@code Double}
  * values with built-in safety checks to handle invalid, empty, or {@code null} strings.
  * </p>
+ * <p>
+ * Parsing is delegated to {@link NumberParser}, which validates the input instead of throwing, so invalid values
+ * cost no exception. Only ASCII digits are accepted. Use {@link NumberParser} directly to parse ranges of larger
+ * texts or to avoid boxing.
+ * </p>
  */
 public class StringToNumberUtils {
 
@@ -21,15 +26,8 @@ public class StringToNumberUtils {
      * @return The resulting {@code Integer} or {@code null} if the string is invalid.
      */
     public static Integer safeParseInt(String str) {
-        if (str == null || str.trim().isEmpty()) {
-            return null;
-        }
-
-        try {
-            return Integer.parseInt(str);
-        } catch (NumberFormatException e) {
-            return null;
-        }
+        ParsedNumber number = new ParsedNumber();
+        return str != null && NumberParser.parseInt(str, number) ? number.intValue() : null;
     }
 
     /**
@@ -43,15 +41,8 @@ public class StringToNumberUtils {
      * @return The resulting {@code Integer} or the specified {@code defaultValue} if the string is invalid.
      */
     public static Integer safeParseInt(String str, int defaultValue) {
-        if (str == null || str.trim().isEmpty()) {
-            return defaultValue;
-        }
-
-        try {
-            return Integer.parseInt(str);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        ParsedNumber number = new ParsedNumber();
+        return str != null && NumberParser.parseInt(str, number) ? number.intValue() : defaultValue;
     }
 
     /**
@@ -64,17 +55,7 @@ public class StringToNumberUtils {
      * @return An {@code Optional<Integer>} containing the parsed value or {@code Optional.empty()} if invalid.
      */
     public static Optional<Integer> safeParseIntWithOptional(String str) {
-
-        if (str == null || str.trim().isEmpty()) {
-            return Optional.empty();
-        }
-
-        try {
-            return Optional.of(Integer.parseInt(str));
-        } catch (NumberFormatException e) {
-            return Optional.empty();
-        }
-
+        return Optional.ofNullable(safeParseInt(str));
     }
 
     /**
@@ -89,43 +70,41 @@ public class StringToNumberUtils {
      * @return The resulting {@code Integer} within the range, or {@code null} if the string is invalid or out of range.
      */
     public static Integer safeParseIntWithRangeCheck(String str, int min, int max) {
-
-        if (str == null || str.trim().isEmpty()) {
-            return null;
-        }
-
-        try {
-            int value = Integer.parseInt(str);
-            if (value < min || value > max) {
-                return null;
-            }
-            return value;
-        } catch (NumberFormatException e) {
+        ParsedNumber number = new ParsedNumber();
+        if (str == null || !NumberParser.parseInt(str, number)) {
             return null;
         }
-
+        int value = number.intValue();
+        return value < min || value > max ? null : value;
     }
 
     /**
      * Safely converts a string to a {@code Double}.
      * <p>
      * If the string is {@code null}, empty, or invalid (i.e., not a valid double), the method returns {@code null}.
+     * Leading and trailing whitespace is ignored, as in {@link Double#parseDouble(String)}.
      * </p>
      *
      * @param str The string to be converted to a {@code Double}.
      * @return The resulting {@code Double} or {@code null} if the string is invalid.
      */
     public static Double safeParseDouble(String str) {
-
-        if (str == null || str.trim().isEmpty()) {
+        if (str == null) {
             return null;
         }
 
-        try {
-            return Double.parseDouble(str);
-        } catch (NumberFormatException e) {
-            return null;
+        // Skip the same characters as String.trim() without copying the string
+        int from = 0;
+        int to = str.length();
+        while (from < to && str.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && str.charAt(to - 1) <= ' ') {
+            to--;
         }
+
+        ParsedNumber number = new ParsedNumber();
+        return NumberParser.parseDouble(str, from, to, number) ? number.doubleValue() : null;
     }
 
-}
\ No newline at end of file
+}
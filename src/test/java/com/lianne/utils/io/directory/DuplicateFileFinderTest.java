@@ -0,0 +1,51 @@
+package com.lianne.utils.io.directory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateFileFinderTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void linkedPathsToOneFileAreAliasesNotDuplicates() throws IOException {
+        Path real = Files.createDirectory(root.resolve("real"));
+        Path file = Files.writeString(real.resolve("a.txt"), "only copy");
+        Files.createSymbolicLink(root.resolve("l1"), real);
+        Files.createSymbolicLink(root.resolve("l2"), real);
+        Files.createSymbolicLink(root.resolve("alias.txt"), file);
+
+        DirectoryWalker walker = DirectoryWalker.builder().minSize(1).followLinks(true).build();
+        DuplicateScanResult result = new DuplicateFileFinder().findDuplicates(root, walker);
+
+        assertTrue(result.duplicateGroups().isEmpty());
+        assertEquals(1, result.stats().filesScanned());
+        assertEquals(1, result.aliasGroups().size());
+        List<Path> aliases = result.aliasGroups().get(0);
+        assertTrue(aliases.contains(root.resolve("alias.txt")));
+        for (Path alias : aliases) {
+            assertTrue(Files.isSameFile(file, alias));
+        }
+    }
+
+    @Test
+    void copiesAreDuplicatesAndHardLinksAreAliases() throws IOException {
+        Path first = Files.writeString(root.resolve("first.txt"), "same content");
+        Path copy = Files.writeString(root.resolve("copy.txt"), "same content");
+        Path hardLink = Files.createLink(root.resolve("link.txt"), first);
+
+        DuplicateScanResult result = new DuplicateFileFinder().findDuplicates(root);
+
+        assertEquals(List.of(List.of(copy, first)), result.duplicateGroups());
+        assertEquals(List.of(List.of(first, hardLink)), result.aliasGroups());
+    }
+}
@@ -0,0 +1,60 @@
+package com.lianne.utils.map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountMinSketchTest {
+
+    private static final int ADDS = 100;
+
+    @Test
+    void intKeysAreFoundByEveryOverload() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+        int key = 123_456;
+        for (int i = 0; i < ADDS; i++) {
+            sketch.add(key);
+        }
+        assertEquals(ADDS, sketch.estimate(key));
+        assertEquals(ADDS, sketch.estimate((long) key));
+        assertEquals(ADDS, sketch.estimate((Object) key));
+    }
+
+    @Test
+    void longKeysAreFoundByEveryOverload() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+        long key = 5_000_000_000L;
+        for (int i = 0; i < ADDS; i++) {
+            sketch.add(key);
+        }
+        assertEquals(ADDS, sketch.estimate(key));
+        assertEquals(ADDS, sketch.estimate((Object) key));
+
+        CountMinSketch boxed = new CountMinSketch(0.001, 0.001);
+        for (int i = 0; i < ADDS; i++) {
+            boxed.add((Object) key);
+        }
+        assertEquals(ADDS, boxed.estimate(key));
+        assertEquals(ADDS, boxed.estimate((Object) key));
+    }
+
+    @Test
+    void objectKeysAreFoundAfterAddWithCount() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+        String key = "/index.html";
+        sketch.add(key, ADDS - 1);
+        sketch.add(key);
+        assertEquals(ADDS, sketch.estimate(key));
+        assertEquals(ADDS, sketch.getTotalCount());
+    }
+
+    @Test
+    void stringsWithEqualHashCodesAreCountedApart() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.001);
+        sketch.add("Aa", ADDS);
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(0, sketch.estimate("BB"));
+        assertEquals(0, sketch.estimate((Object) "Aa".hashCode()));
+        assertEquals(ADDS, sketch.estimate("Aa"));
+    }
+}